@@ -0,0 +1,105 @@
+package com.savingsapp.groupservice.audit;
+
+import com.savingsapp.groupservice.service.events.GroupEvent;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.zip.CRC32C;
+
+// Binary record layout, all big-endian:
+//   int length | int crc32c | long sequence | long timestamp | byte type | long version | int cycle
+//   | string groupId | string actorId | string userId
+// where length and crc cover everything after the crc, and a string is a short byte count
+// (-1 for null) followed by UTF-8 bytes. A zero length marks the end of a segment's data.
+final class AuditCodec {
+
+    static final int HEADER_BYTES = 8;
+    private static final int FIXED_BYTES = 8 + 8 + 1 + 8 + 4;
+    private static final GroupEvent.Type[] TYPES = GroupEvent.Type.values();
+
+    private AuditCodec() {
+    }
+
+    static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static int encodedSize(byte[] groupId, byte[] actorId, byte[] userId) {
+        return HEADER_BYTES + FIXED_BYTES + stringSize(groupId) + stringSize(actorId) + stringSize(userId);
+    }
+
+    // Writes the record at the buffer's position and advances it
+    static void encode(ByteBuffer buffer, long sequence, GroupEvent event, byte[] groupId, byte[] actorId, byte[] userId) {
+        int start = buffer.position();
+        buffer.position(start + HEADER_BYTES);
+        buffer.putLong(sequence);
+        buffer.putLong(event.at().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        buffer.put((byte) event.type().ordinal());
+        buffer.putLong(event.version() == null ? 0L : event.version());
+        buffer.putInt(event.currentCycle() == null ? 0 : event.currentCycle());
+        putString(buffer, groupId);
+        putString(buffer, actorId);
+        putString(buffer, userId);
+        int end = buffer.position();
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(start + HEADER_BYTES, end - start - HEADER_BYTES));
+        // The length is written last so a reader never sees a partially written record
+        buffer.putInt(start + 4, (int) crc.getValue());
+        buffer.putInt(start, end - start - HEADER_BYTES);
+    }
+
+    // Decodes the record at offset, or returns null at the end of data or on a torn record
+    static AuditRecord decode(ByteBuffer buffer, int offset) {
+        if (offset + HEADER_BYTES > buffer.limit()) {
+            return null;
+        }
+        int length = buffer.getInt(offset);
+        if (length < FIXED_BYTES || offset + HEADER_BYTES + length > buffer.limit()) {
+            return null;
+        }
+
+        ByteBuffer body = buffer.slice(offset + HEADER_BYTES, length);
+        CRC32C crc = new CRC32C();
+        crc.update(body.duplicate());
+        if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+            return null;
+        }
+
+        long sequence = body.getLong();
+        Instant timestamp = Instant.ofEpochMilli(body.getLong());
+        GroupEvent.Type type = TYPES[body.get()];
+        long version = body.getLong();
+        int cycle = body.getInt();
+        return new AuditRecord(sequence, timestamp, type, getString(body), version, cycle, getString(body), getString(body));
+    }
+
+    static int recordSize(ByteBuffer buffer, int offset) {
+        return HEADER_BYTES + buffer.getInt(offset);
+    }
+
+    private static int stringSize(byte[] value) {
+        return 2 + (value == null ? 0 : value.length);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        buffer.putShort((short) value.length);
+        buffer.put(value);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
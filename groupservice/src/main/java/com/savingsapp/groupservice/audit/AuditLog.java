@@ -0,0 +1,218 @@
+package com.savingsapp.groupservice.audit;
+
+import com.savingsapp.groupservice.service.events.GroupEvent;
+import com.savingsapp.groupservice.service.events.GroupEventBus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Append-only audit trail of group mutations, fed by the group event bus. Publishing only
+// enqueues the event on a lock-free ring; a single writer thread assigns sequence numbers
+// and appends binary records to memory-mapped segments, rotating to a new segment when the
+// current one is full. See AuditLogReader for the file layout and AuditReplay for offline reads.
+@Component
+@Slf4j
+public class AuditLog {
+
+    private static final int DRAIN_BATCH = 1024;
+
+    private final GroupEventBus groupEventBus;
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutNanos;
+    private final AuditRingBuffer<GroupEvent> ring;
+    private final AuditLogReader reader;
+
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile AuditSegment active;
+    private volatile boolean running;
+    private volatile boolean writerParked;
+    private long nextSequence;
+    private volatile Thread writer;
+
+    public AuditLog(GroupEventBus groupEventBus,
+                    @Value("${groupservice.audit.enabled:true}") boolean enabled,
+                    @Value("${groupservice.audit.directory:data/audit}") String directory,
+                    @Value("${groupservice.audit.segment-size-mb:64}") int segmentSizeMb,
+                    @Value("${groupservice.audit.ring-capacity:65536}") int ringCapacity,
+                    @Value("${groupservice.audit.flush-interval-ms:1000}") long flushIntervalMs,
+                    @Value("${groupservice.audit.offer-timeout-ms:5}") long offerTimeoutMs) {
+        this.groupEventBus = groupEventBus;
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.segmentSize = segmentSizeMb * 1024 * 1024;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+        this.ring = new AuditRingBuffer<>(ringCapacity);
+        this.reader = new AuditLogReader(this.directory);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        Files.createDirectories(directory);
+        recover();
+
+        running = true;
+        writer = new Thread(this::runWriter, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        groupEventBus.addListener(this::append);
+        log.info("Audit log writing to {} from sequence {}", directory.toAbsolutePath(), nextSequence);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    // Hot path: one CAS and one store on the ring, plus an unpark only if the writer is idle.
+    // If the writer falls behind, producers wait up to the offer timeout before the record is
+    // dropped and counted, rather than blocking requests.
+    public void append(GroupEvent event) {
+        if (!running) {
+            return;
+        }
+        if (ring.offer(event)) {
+            wakeWriter();
+            return;
+        }
+
+        long deadline = System.nanoTime() + offerTimeoutNanos;
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(1_000);
+            if (ring.offer(event)) {
+                wakeWriter();
+                return;
+            }
+        }
+        dropped.incrementAndGet();
+        log.warn("Audit ring full, dropped {} for group {}", event.type(), event.groupId());
+    }
+
+    public List<AuditRecord> readGroup(String groupId) {
+        if (!enabled) {
+            return List.of();
+        }
+
+        AuditSegment current = active;
+        List<AuditRecord> records = new ArrayList<>();
+        for (Path segment : reader.segments()) {
+            if (AuditSegment.baseSequence(segment) < current.baseSequence()) {
+                records.addAll(reader.readGroup(segment, groupId));
+            }
+        }
+        records.addAll(current.read(groupId));
+        return records;
+    }
+
+    public long getAppended() {
+        return appended.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    private void recover() throws IOException {
+        List<Path> segments = reader.segments();
+        if (segments.isEmpty()) {
+            nextSequence = 1;
+            active = AuditSegment.create(directory, nextSequence, segmentSize);
+            return;
+        }
+
+        // Sealed segments only need their index; rebuild it if a crash prevented writing it
+        for (Path segment : segments.subList(0, segments.size() - 1)) {
+            if (!Files.exists(AuditSegment.indexPath(segment))) {
+                AuditSegment.recover(segment, 0).seal();
+            }
+        }
+
+        active = AuditSegment.recover(segments.get(segments.size() - 1), segmentSize);
+        nextSequence = active.lastSequence() + 1;
+    }
+
+    private void wakeWriter() {
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void runWriter() {
+        long lastFlush = System.nanoTime();
+        while (running || !ring.isEmpty()) {
+            int drained = ring.drain(this::write, DRAIN_BATCH);
+            long sinceFlush = System.nanoTime() - lastFlush;
+            if (drained == 0 && sinceFlush < flushIntervalNanos) {
+                idle(flushIntervalNanos - sinceFlush);
+            }
+
+            if (System.nanoTime() - lastFlush >= flushIntervalNanos) {
+                active.force();
+                lastFlush = System.nanoTime();
+            }
+        }
+        active.force();
+    }
+
+    // Sleeps until a producer appends or the next flush is due. The flag is raised before the
+    // ring is checked again, so an append racing with this either is seen here or unparks us.
+    private void idle(long maxNanos) {
+        writerParked = true;
+        try {
+            if (running && ring.isEmpty()) {
+                LockSupport.parkNanos(this, maxNanos);
+            }
+        } finally {
+            writerParked = false;
+        }
+    }
+
+    private void write(GroupEvent event) {
+        try {
+            if (!active.append(nextSequence, event)) {
+                rotate();
+                if (!active.append(nextSequence, event)) {
+                    log.error("Audit record for group {} does not fit in an empty segment", event.groupId());
+                    return;
+                }
+            }
+            nextSequence++;
+            appended.incrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to write audit record for group {}", event.groupId(), e);
+        }
+    }
+
+    private void rotate() throws IOException {
+        AuditSegment previous = active;
+        active = AuditSegment.create(directory, nextSequence, segmentSize);
+        previous.seal();
+    }
+}
@@ -0,0 +1,146 @@
+package com.savingsapp.groupservice.audit;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Reads an audit log directory without a running service: used by AuditLog for sealed
+// segments and by AuditReplay. Sealed segments are read through their .idx file when present.
+public final class AuditLogReader {
+
+    interface RecordVisitor {
+        void visit(AuditRecord record, int offset);
+    }
+
+    private final Path directory;
+
+    public AuditLogReader(Path directory) {
+        this.directory = directory;
+    }
+
+    public List<Path> segments() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(AuditSegment::isSegment)
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<AuditRecord> readGroup(String groupId) {
+        List<AuditRecord> records = new ArrayList<>();
+        for (Path segment : segments()) {
+            records.addAll(readGroup(segment, groupId));
+        }
+        return records;
+    }
+
+    // Calls the consumer for every record with a sequence of at least fromSequence, in order
+    public void replay(long fromSequence, Consumer<AuditRecord> consumer) {
+        List<Path> segments = segments();
+        for (int i = 0; i < segments.size(); i++) {
+            // Skip whole segments that end before fromSequence
+            if (i + 1 < segments.size() && AuditSegment.baseSequence(segments.get(i + 1)) <= fromSequence) {
+                continue;
+            }
+            scan(map(segments.get(i)), (record, offset) -> {
+                if (record.sequence() >= fromSequence) {
+                    consumer.accept(record);
+                }
+            });
+        }
+    }
+
+    List<AuditRecord> readGroup(Path segment, String groupId) {
+        ByteBuffer buffer = map(segment);
+        List<AuditRecord> records = new ArrayList<>();
+
+        Path indexPath = AuditSegment.indexPath(segment);
+        if (Files.exists(indexPath)) {
+            int[] offsets = readIndex(indexPath).get(groupId);
+            if (offsets != null) {
+                for (int offset : offsets) {
+                    records.add(AuditCodec.decode(buffer, offset));
+                }
+            }
+            return records;
+        }
+
+        scan(buffer, (record, offset) -> {
+            if (record.groupId().equals(groupId)) {
+                records.add(record);
+            }
+        });
+        return records;
+    }
+
+    // Visits records from the start of the buffer and returns the offset just past the last intact one
+    static int scan(ByteBuffer buffer, RecordVisitor visitor) {
+        int offset = 0;
+        AuditRecord record;
+        while ((record = AuditCodec.decode(buffer, offset)) != null) {
+            visitor.visit(record, offset);
+            offset += AuditCodec.recordSize(buffer, offset);
+        }
+        return offset;
+    }
+
+    // Index file: int group count, then per group a UTF string, an int offset count and the offsets
+    static void writeIndex(Path path, Map<String, int[]> index) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temporary))) {
+            out.writeInt(index.size());
+            for (Map.Entry<String, int[]> entry : index.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().length);
+                for (int offset : entry.getValue()) {
+                    out.writeInt(offset);
+                }
+            }
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static Map<String, int[]> readIndex(Path path) {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+            int groups = in.readInt();
+            Map<String, int[]> index = new HashMap<>(groups * 2);
+            for (int i = 0; i < groups; i++) {
+                String groupId = in.readUTF();
+                int[] offsets = new int[in.readInt()];
+                for (int j = 0; j < offsets.length; j++) {
+                    offsets[j] = in.readInt();
+                }
+                index.put(groupId, offsets);
+            }
+            return index;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ByteBuffer map(Path segment) {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.savingsapp.groupservice.audit;
+
+import com.savingsapp.groupservice.service.events.GroupEvent;
+
+import java.time.Instant;
+
+// One entry of the audit log: who did what to which group, and the group version it produced
+public record AuditRecord(
+        long sequence,
+        Instant timestamp,
+        GroupEvent.Type type,
+        String groupId,
+        long version,
+        int cycle,
+        String actorId,
+        String userId
+) {
+
+    @Override
+    public String toString() {
+        return sequence + " " + timestamp + " " + type + " group=" + groupId + " v=" + version
+                + " cycle=" + cycle + " actor=" + actorId + (userId != null ? " user=" + userId : "");
+    }
+}
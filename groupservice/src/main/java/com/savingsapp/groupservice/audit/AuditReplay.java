@@ -0,0 +1,43 @@
+package com.savingsapp.groupservice.audit;
+
+import java.nio.file.Paths;
+
+// Offline reader for an audit log directory, safe to run next to a live service:
+//   java -cp groupservice.jar -Dloader.main=com.savingsapp.groupservice.audit.AuditReplay \
+//       org.springframework.boot.loader.launch.PropertiesLauncher <directory> [--group <groupId>] [--from <sequence>]
+// Prints one line per record, oldest first.
+public final class AuditReplay {
+
+    private AuditReplay() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: AuditReplay <directory> [--group <groupId>] [--from <sequence>]");
+            System.exit(2);
+        }
+
+        String groupId = null;
+        long fromSequence = 0;
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--group" -> groupId = args[i + 1];
+                case "--from" -> fromSequence = Long.parseLong(args[i + 1]);
+                default -> {
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(2);
+                }
+            }
+        }
+
+        AuditLogReader reader = new AuditLogReader(Paths.get(args[0]));
+        if (groupId != null) {
+            long from = fromSequence;
+            reader.readGroup(groupId).stream()
+                    .filter(record -> record.sequence() >= from)
+                    .forEach(System.out::println);
+        } else {
+            reader.replay(fromSequence, System.out::println);
+        }
+    }
+}
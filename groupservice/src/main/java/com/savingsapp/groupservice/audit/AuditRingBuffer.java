@@ -0,0 +1,60 @@
+package com.savingsapp.groupservice.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+// Bounded lock-free multi-producer / single-consumer queue. Producers claim a slot with one
+// CAS on the head counter and publish by storing into it; the single consumer clears slots
+// before advancing the tail, so a producer that sees free capacity always finds its slot empty.
+final class AuditRingBuffer<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private volatile long tail;
+
+    AuditRingBuffer(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Audit ring capacity must be a power of two: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    boolean offer(T item) {
+        long sequence;
+        do {
+            sequence = head.get();
+            if (sequence - tail > mask) {
+                return false;
+            }
+        } while (!head.compareAndSet(sequence, sequence + 1));
+
+        slots.set((int) (sequence & mask), item);
+        return true;
+    }
+
+    // Consumer thread only. Stops at the first claimed-but-unpublished slot to keep order.
+    int drain(Consumer<T> consumer, int limit) {
+        long position = tail;
+        int drained = 0;
+        while (drained < limit) {
+            int index = (int) (position & mask);
+            T item = slots.get(index);
+            if (item == null) {
+                break;
+            }
+            slots.lazySet(index, null);
+            consumer.accept(item);
+            position++;
+            drained++;
+        }
+        tail = position;
+        return drained;
+    }
+
+    boolean isEmpty() {
+        return head.get() == tail;
+    }
+}
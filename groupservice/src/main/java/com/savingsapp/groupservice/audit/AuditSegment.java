@@ -0,0 +1,161 @@
+package com.savingsapp.groupservice.audit;
+
+import com.savingsapp.groupservice.service.events.GroupEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// A fixed-size, memory-mapped log file. Only the writer thread appends; readers see records
+// up to the committed offset, and the per-group offset index is kept in memory until the
+// segment is sealed and its index is written next to it.
+final class AuditSegment {
+
+    static final String LOG_SUFFIX = ".log";
+    static final String INDEX_SUFFIX = ".idx";
+    private static final String PREFIX = "audit-";
+
+    private final Path path;
+    private final long baseSequence;
+    private final MappedByteBuffer buffer;
+    private final Map<String, Offsets> index = new ConcurrentHashMap<>();
+    private volatile int committed;
+    private long lastSequence;
+
+    private AuditSegment(Path path, long baseSequence, MappedByteBuffer buffer) {
+        this.path = path;
+        this.baseSequence = baseSequence;
+        this.buffer = buffer;
+        this.lastSequence = baseSequence - 1;
+    }
+
+    static AuditSegment create(Path directory, long baseSequence, int size) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", PREFIX, baseSequence, LOG_SUFFIX));
+        return new AuditSegment(path, baseSequence, map(path, size));
+    }
+
+    // Reopens the newest segment after a restart: scans to the last intact record and rebuilds the index
+    static AuditSegment recover(Path path, int size) throws IOException {
+        AuditSegment segment = new AuditSegment(path, baseSequence(path), map(path, Math.max(size, (int) Files.size(path))));
+        segment.committed = AuditLogReader.scan(segment.buffer, (record, offset) -> {
+            segment.indexRecord(record.groupId(), offset);
+            segment.lastSequence = record.sequence();
+        });
+        return segment;
+    }
+
+    static long baseSequence(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - LOG_SUFFIX.length()));
+    }
+
+    static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(LOG_SUFFIX);
+    }
+
+    static Path indexPath(Path segment) {
+        String name = segment.getFileName().toString();
+        return segment.resolveSibling(name.substring(0, name.length() - LOG_SUFFIX.length()) + INDEX_SUFFIX);
+    }
+
+    // Writer thread only; returns false when the record does not fit in the remaining space
+    boolean append(long sequence, GroupEvent event) {
+        byte[] groupId = AuditCodec.utf8(event.groupId());
+        byte[] actorId = AuditCodec.utf8(event.actorId());
+        byte[] userId = AuditCodec.utf8(event.userId());
+        int size = AuditCodec.encodedSize(groupId, actorId, userId);
+
+        // Keep room for the zero length that terminates the data
+        int offset = committed;
+        if (offset + size + 4 > buffer.capacity()) {
+            return false;
+        }
+
+        buffer.position(offset);
+        AuditCodec.encode(buffer, sequence, event, groupId, actorId, userId);
+        indexRecord(event.groupId(), offset);
+        lastSequence = sequence;
+        committed = offset + size;
+        return true;
+    }
+
+    List<AuditRecord> read(String groupId) {
+        Offsets offsets = index.get(groupId);
+        if (offsets == null) {
+            return List.of();
+        }
+
+        ByteBuffer view = buffer.duplicate();
+        int limit = committed;
+        List<AuditRecord> records = new ArrayList<>();
+        for (int offset : offsets.toArray()) {
+            if (offset < limit) {
+                records.add(AuditCodec.decode(view, offset));
+            }
+        }
+        return records;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    // Flushes the data and writes the group index so readers no longer need to scan this segment
+    void seal() throws IOException {
+        buffer.force();
+        Map<String, int[]> snapshot = new HashMap<>(index.size());
+        index.forEach((groupId, offsets) -> snapshot.put(groupId, offsets.toArray()));
+        AuditLogReader.writeIndex(indexPath(path), snapshot);
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long baseSequence() {
+        return baseSequence;
+    }
+
+    long lastSequence() {
+        return lastSequence;
+    }
+
+    private void indexRecord(String groupId, int offset) {
+        index.computeIfAbsent(groupId, id -> new Offsets()).add(offset);
+    }
+
+    private static MappedByteBuffer map(Path path, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private static final class Offsets {
+
+        private int[] values = new int[4];
+        private int size;
+
+        synchronized void add(int offset) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = offset;
+        }
+
+        synchronized int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.savingsapp.groupservice.config;
+
+import com.savingsapp.groupservice.dto.GroupFieldSet;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer groupFieldFilterCustomizer() {
+        return builder -> builder.filters(GroupFieldSet.defaultFilters());
+    }
+}
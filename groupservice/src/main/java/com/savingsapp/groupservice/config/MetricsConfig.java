@@ -0,0 +1,104 @@
+package com.savingsapp.groupservice.config;
+
+import com.savingsapp.groupservice.audit.AuditLog;
+import com.savingsapp.groupservice.limiter.AdaptiveConcurrencyLimit;
+import com.savingsapp.groupservice.limiter.ConcurrencyLimitFilter;
+import com.savingsapp.groupservice.security.JwtUtil;
+import com.savingsapp.groupservice.service.GroupCache;
+import com.savingsapp.groupservice.service.IdempotencyService;
+import com.savingsapp.groupservice.service.OrganizerStatsService;
+import com.savingsapp.groupservice.service.events.GroupEventBus;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+// HTTP timers (http.server.requests), Mongo command timers (mongodb.driver.commands),
+// repository method timers (spring.data.repository.invocations) and JVM/GC metrics are
+// auto-configured by Spring Boot; percentiles for them are set in application.properties.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder groupCacheMetrics(GroupCache groupCache) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, groupCache.getNativeCache(), "groups");
+    }
+
+    @Bean
+    public MeterBinder organizerStatsCacheMetrics(OrganizerStatsService organizerStatsService) {
+        return registry -> {
+            if (organizerStatsService.getNativeCache() != null) {
+                CaffeineCacheMetrics.monitor(registry, organizerStatsService.getNativeCache(), "organizer-stats");
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder idempotencyMetrics(IdempotencyService idempotencyService) {
+        return registry -> FunctionCounter.builder("groups.idempotency.replays", idempotencyService, IdempotencyService::getReplays)
+                .description("Requests answered with a stored response for a repeated Idempotency-Key")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder concurrencyLimitMetrics(ConcurrencyLimitFilter concurrencyLimitFilter) {
+        return registry -> {
+            for (AdaptiveConcurrencyLimit limit : List.of(concurrencyLimitFilter.getReadLimit(), concurrencyLimitFilter.getWriteLimit())) {
+                Gauge.builder("groups.limiter.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                        .tag("class", limit.getName())
+                        .register(registry);
+                Gauge.builder("groups.limiter.inflight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                        .tag("class", limit.getName())
+                        .register(registry);
+                FunctionCounter.builder("groups.limiter.rejections", limit, AdaptiveConcurrencyLimit::getLimitRejections)
+                        .description("Requests turned away with a 503 by the adaptive concurrency limit")
+                        .tags("class", limit.getName(), "reason", "limit")
+                        .register(registry);
+                FunctionCounter.builder("groups.limiter.rejections", limit, AdaptiveConcurrencyLimit::getUserRejections)
+                        .description("Requests turned away with a 503 by the adaptive concurrency limit")
+                        .tags("class", limit.getName(), "reason", "user")
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder groupEventBusMetrics(GroupEventBus groupEventBus) {
+        return registry -> {
+            Gauge.builder("groups.events.subscribers", groupEventBus, GroupEventBus::getSubscriberCount)
+                    .register(registry);
+            FunctionCounter.builder("groups.events.evictions", groupEventBus, GroupEventBus::getEvictions)
+                    .description("Event subscribers disconnected for falling behind")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder auditLogMetrics(AuditLog auditLog) {
+        return registry -> {
+            FunctionCounter.builder("groups.audit.appended", auditLog, AuditLog::getAppended)
+                    .register(registry);
+            FunctionCounter.builder("groups.audit.dropped", auditLog, AuditLog::getDropped)
+                    .description("Audit records dropped because the writer fell behind")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder jwtClaimsCacheMetrics(JwtUtil jwtUtil) {
+        return registry -> {
+            FunctionCounter.builder("jwt.claims.cache.hits", jwtUtil, JwtUtil::getClaimsCacheHits)
+                    .register(registry);
+            FunctionCounter.builder("jwt.claims.cache.misses", jwtUtil, JwtUtil::getClaimsCacheMisses)
+                    .register(registry);
+            FunctionCounter.builder("jwt.claims.cache.rejections", jwtUtil, JwtUtil::getClaimsCacheRejections)
+                    .register(registry);
+            Gauge.builder("jwt.claims.cache.size", jwtUtil, JwtUtil::getClaimsCacheSize)
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.savingsapp.groupservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@Slf4j
+public class MongoClientConfig {
+
+    // With platform threads the Tomcat pool caps concurrent Mongo calls; with virtual
+    // threads it no longer does, so the connection pool becomes the real limit and
+    // maxWaitTime decides how long a burst may queue before failing fast
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(
+            @Value("${groupservice.mongo.pool.max-size:100}") int maxSize,
+            @Value("${groupservice.mongo.pool.min-size:0}") int minSize,
+            @Value("${groupservice.mongo.pool.max-connecting:2}") int maxConnecting,
+            @Value("${groupservice.mongo.pool.max-wait-ms:2000}") long maxWaitMs,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        log.info("Mongo connection pool: maxSize={}, minSize={}, maxWait={}ms, virtual threads {}",
+                maxSize, minSize, maxWaitMs, virtualThreads ? "enabled" : "disabled");
+
+        return builder -> builder.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxSize)
+                .minSize(minSize)
+                .maxConnecting(maxConnecting)
+                .maxWaitTime(maxWaitMs, TimeUnit.MILLISECONDS));
+    }
+}
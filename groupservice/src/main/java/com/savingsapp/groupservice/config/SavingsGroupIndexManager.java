@@ -0,0 +1,166 @@
+package com.savingsapp.groupservice.config;
+
+import com.savingsapp.groupservice.model.Contribution;
+import com.savingsapp.groupservice.model.ContributionCycleTotal;
+import com.savingsapp.groupservice.model.GroupMembership;
+import com.savingsapp.groupservice.model.IdempotencyRecord;
+import com.savingsapp.groupservice.model.SavingsGroup;
+import com.savingsapp.groupservice.model.UserGroupIndexEntry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.regex;
+import static com.mongodb.client.model.Filters.text;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SavingsGroupIndexManager implements ApplicationRunner {
+
+    // Indexes owned by this service are named "gs_<fields>_v<n>" (savings_groups),
+    // "gm_<fields>_v<n>" (group_memberships), "ug_<fields>_v<n>" (user_group_index),
+    // "ik_<fields>_v<n>" (idempotency_keys), "cl_<fields>_v<n>" (contributions) and
+    // "ct_<fields>_v<n>" (contribution_totals); anything with the prefix that is no longer
+    // declared on the entity is considered stale
+    private static final String MANAGED_PREFIX = "gs_";
+    private static final String MEMBERSHIP_PREFIX = "gm_";
+    private static final String USER_INDEX_PREFIX = "ug_";
+    private static final String IDEMPOTENCY_PREFIX = "ik_";
+    private static final String LEDGER_PREFIX = "cl_";
+    private static final String CYCLE_TOTALS_PREFIX = "ct_";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${groupservice.mongo.indexes.enabled:true}")
+    private boolean enabled;
+
+    @Value("${groupservice.mongo.indexes.drop-stale:true}")
+    private boolean dropStale;
+
+    // off | warn | fail
+    @Value("${groupservice.mongo.indexes.plan-check:warn}")
+    private String planCheck;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            ensureIndexes();
+            if (!"off".equalsIgnoreCase(planCheck)) {
+                checkQueryPlans();
+            }
+        } catch (DataAccessException e) {
+            if ("fail".equalsIgnoreCase(planCheck)) {
+                throw e;
+            }
+            log.error("Could not verify savings group indexes: {}", e.getMessage());
+        }
+    }
+
+    public void ensureIndexes() {
+        ensureIndexes(SavingsGroup.class, MANAGED_PREFIX);
+        ensureIndexes(GroupMembership.class, MEMBERSHIP_PREFIX);
+        ensureIndexes(UserGroupIndexEntry.class, USER_INDEX_PREFIX);
+        ensureIndexes(IdempotencyRecord.class, IDEMPOTENCY_PREFIX);
+        ensureIndexes(Contribution.class, LEDGER_PREFIX);
+        ensureIndexes(ContributionCycleTotal.class, CYCLE_TOTALS_PREFIX);
+    }
+
+    private void ensureIndexes(Class<?> entity, String managedPrefix) {
+        IndexOperations indexOps = mongoTemplate.indexOps(entity);
+        MongoPersistentEntityIndexResolver resolver =
+                new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+
+        Set<String> declared = new HashSet<>();
+        for (IndexDefinition index : resolver.resolveIndexFor(entity)) {
+            declared.add(indexOps.ensureIndex(index));
+        }
+
+        if (dropStale) {
+            for (IndexInfo info : indexOps.getIndexInfo()) {
+                if (info.getName().startsWith(managedPrefix) && !declared.contains(info.getName())) {
+                    log.info("Dropping stale {} index {}", mongoTemplate.getCollectionName(entity), info.getName());
+                    indexOps.dropIndex(info.getName());
+                }
+            }
+        }
+
+        log.info("{} indexes in place: {}", mongoTemplate.getCollectionName(entity), declared);
+    }
+
+    public Map<String, String> checkQueryPlans() {
+        Map<String, String> collectionScans = new LinkedHashMap<>();
+        representativeQueries().forEach((queryName, filter) -> {
+            Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(SavingsGroup.class))
+                    .find(filter)
+                    .explain();
+
+            Object winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan");
+            if (containsCollectionScan(winningPlan)) {
+                collectionScans.put(queryName, String.valueOf(winningPlan));
+            }
+        });
+
+        if (collectionScans.isEmpty()) {
+            log.info("All savings group repository queries are index-backed");
+            return collectionScans;
+        }
+
+        String message = "Savings group queries falling back to COLLSCAN: " + collectionScans.keySet();
+        if ("fail".equalsIgnoreCase(planCheck)) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+        return collectionScans;
+    }
+
+    // One filter per SavingsGroupRepository query method, shaped like the one Spring Data derives
+    private static Map<String, Bson> representativeQueries() {
+        Map<String, Bson> queries = new LinkedHashMap<>();
+        queries.put("findByOrganizerId", eq("organizerId", "explain"));
+        queries.put("findByStatus", eq("status", SavingsGroup.GroupStatus.OPEN.name()));
+        queries.put("findByIdAndOrganizerId", and(eq("_id", new ObjectId()), eq("organizerId", "explain")));
+        queries.put("findByMembersUserId", eq("members.u", "explain"));
+        queries.put("findByPendingMemberIdsContaining", eq("pendingMemberIds", "explain"));
+        queries.put("searchSummaries(text)", text("explain"));
+        queries.put("searchSummaries(prefix)", regex("nameKey", "^explain"));
+        return queries;
+    }
+
+    private static boolean containsCollectionScan(Object plan) {
+        if (plan instanceof Document document) {
+            if ("COLLSCAN".equals(document.get("stage"))) {
+                return true;
+            }
+            return document.values().stream().anyMatch(SavingsGroupIndexManager::containsCollectionScan);
+        }
+        if (plan instanceof List<?> list) {
+            return list.stream().anyMatch(SavingsGroupIndexManager::containsCollectionScan);
+        }
+        return false;
+    }
+}
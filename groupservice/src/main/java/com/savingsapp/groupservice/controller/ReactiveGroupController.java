@@ -0,0 +1,43 @@
+package com.savingsapp.groupservice.controller;
+
+import com.savingsapp.groupservice.dto.ApiResponse;
+import com.savingsapp.groupservice.dto.GroupResponse;
+import com.savingsapp.groupservice.service.ReactiveGroupQueryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Non-blocking read path. Lists are streamed as NDJSON, one group per line, and the
+// next document is only requested from Mongo once the previous one has been written.
+@RestController
+@RequestMapping("/api/groups/reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveGroupController {
+
+    private final ReactiveGroupQueryService reactiveGroupQueryService;
+
+    @GetMapping(produces = "application/x-ndjson")
+    public Flux<GroupResponse> getAllGroups() {
+        log.info("Streaming all savings groups (reactive)");
+        return reactiveGroupQueryService.getAllGroups();
+    }
+
+    @GetMapping("/{groupId}")
+    public Mono<ApiResponse<GroupResponse>> getGroupById(@PathVariable String groupId) {
+        log.info("Fetching savings group with id: {} (reactive)", groupId);
+        return reactiveGroupQueryService.getGroupById(groupId)
+                .map(ApiResponse::success);
+    }
+
+    @GetMapping(value = "/organizer/{organizerId}", produces = "application/x-ndjson")
+    public Flux<GroupResponse> getOrganizerGroups(@PathVariable String organizerId) {
+        log.info("Streaming groups for organizer: {} (reactive)", organizerId);
+        return reactiveGroupQueryService.getOrganizerGroups(organizerId);
+    }
+}
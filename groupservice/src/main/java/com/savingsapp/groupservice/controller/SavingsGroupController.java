@@ -1,17 +1,36 @@
 package com.savingsapp.groupservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.savingsapp.groupservice.audit.AuditRecord;
 import com.savingsapp.groupservice.dto.*;
+import com.savingsapp.groupservice.model.SavingsGroup;
 import com.savingsapp.groupservice.security.JwtUserDetails;
+import com.savingsapp.groupservice.service.ContributionService;
+import com.savingsapp.groupservice.service.IdempotencyService;
+import com.savingsapp.groupservice.service.OrganizerStatsService;
 import com.savingsapp.groupservice.service.SavingsGroupService;
+import com.savingsapp.groupservice.service.events.GroupEventBus;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/groups")
@@ -19,15 +38,25 @@ import java.util.List;
 @Slf4j
 public class SavingsGroupController {
 
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final SavingsGroupService savingsGroupService;
+    private final ContributionService contributionService;
+    private final OrganizerStatsService organizerStatsService;
+    private final IdempotencyService idempotencyService;
+    private final GroupEventBus groupEventBus;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/create")
-    public ResponseEntity<ApiResponse<GroupResponse>> createGroup(@Valid @RequestBody CreateGroupRequest request,
-                                                                  @AuthenticationPrincipal JwtUserDetails userDetails) {
+    public ResponseEntity<?> createGroup(@Valid @RequestBody CreateGroupRequest request,
+                                         @RequestHeader(value = IdempotencyService.KEY_HEADER, required = false) String idempotencyKey,
+                                         @AuthenticationPrincipal JwtUserDetails userDetails) {
         log.info("Creating new savings group for user: {}", userDetails.getUserId());
-        GroupResponse group = savingsGroupService.createGroup(request, userDetails.getUserId());
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Group created successfully", group));
+        return idempotencyService.execute(idempotencyKey, userDetails.getUserId(), "create", request, () -> {
+            GroupResponse group = savingsGroupService.createGroup(request, userDetails.getUserId());
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Group created successfully", group));
+        });
     }
 
     @GetMapping
@@ -37,11 +66,106 @@ public class SavingsGroupController {
         return ResponseEntity.ok(ApiResponse.success(groups));
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<MappingJacksonValue> getGroupsPage(@RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "20") int size,
+                                                             @RequestParam(required = false) String fields) {
+        log.info("Fetching page of savings groups, size: {}", size);
+        GroupFieldSet fieldSet = GroupFieldSet.parse(fields);
+        GroupPage<GroupResponse> page = savingsGroupService.getGroupsPage(cursor, size, fieldSet);
+        return ResponseEntity.ok(fieldSet.apply(ApiResponse.success(page)));
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<ApiResponse<GroupPage<GroupSummary>>> getGroupSummaries(@RequestParam(required = false) String cursor,
+                                                                                  @RequestParam(defaultValue = "20") int size) {
+        log.info("Fetching page of savings group summaries, size: {}", size);
+        GroupPage<GroupSummary> page = savingsGroupService.getGroupSummariesPage(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<GroupPage<GroupSummary>>> searchGroups(@RequestParam(required = false) String q,
+                                                                             @RequestParam(required = false) String prefix,
+                                                                             @RequestParam(required = false) SavingsGroup.GroupStatus status,
+                                                                             @RequestParam(required = false) String currency,
+                                                                             @RequestParam(required = false) BigDecimal minContribution,
+                                                                             @RequestParam(required = false) BigDecimal maxContribution,
+                                                                             @RequestParam(required = false) String cursor,
+                                                                             @RequestParam(defaultValue = "20") int size) {
+        log.info("Searching savings groups, q: {}, prefix: {}, size: {}", q, prefix, size);
+        GroupSearchCriteria criteria = GroupSearchCriteria.builder()
+                .text(StringUtils.hasText(q) ? q : null)
+                .prefix(StringUtils.hasText(prefix) ? prefix : null)
+                .status(status)
+                .currency(StringUtils.hasText(currency) ? currency : null)
+                .minContribution(minContribution)
+                .maxContribution(maxContribution)
+                .build();
+        GroupPage<GroupSummary> page = savingsGroupService.searchGroups(criteria, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAllGroups() {
+        log.info("Streaming all savings groups");
+        StreamingResponseBody body = out -> savingsGroupService.streamAllGroups(group -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(group));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/me")
+    public ResponseEntity<ApiResponse<MyGroupsResponse>> getMyGroups(@AuthenticationPrincipal JwtUserDetails userDetails) {
+        log.info("Fetching groups for user: {}", userDetails.getUserId());
+        MyGroupsResponse groups = savingsGroupService.getMyGroups(userDetails.getUserId());
+        return ResponseEntity.ok(ApiResponse.success(groups));
+    }
+
+    @GetMapping(value = "/me/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMyGroupEvents(@AuthenticationPrincipal JwtUserDetails userDetails) {
+        log.info("Opening group event stream for user: {}", userDetails.getUserId());
+        return groupEventBus.subscribeToUser(userDetails.getUserId());
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getGroupCacheStats() {
+        return ResponseEntity.ok(ApiResponse.success(savingsGroupService.getGroupCacheStats()));
+    }
+
     @GetMapping("/{groupId}")
-    public ResponseEntity<ApiResponse<GroupResponse>> getGroupById(@PathVariable String groupId) {
+    public ResponseEntity<MappingJacksonValue> getGroupById(@PathVariable String groupId,
+                                                            @RequestParam(required = false) String fields,
+                                                            WebRequest webRequest) {
         log.info("Fetching savings group with id: {}", groupId);
-        GroupResponse group = savingsGroupService.getGroupById(groupId);
-        return ResponseEntity.ok(ApiResponse.success(group));
+        GroupFieldSet fieldSet = GroupFieldSet.parse(fields);
+
+        // The group version is the ETag; If-None-Match is answered with 304 before the group is
+        // loaded, from the near-cache when the group is cached there
+        long version = savingsGroupService.getETagVersion(groupId);
+        if (webRequest.checkNotModified(fieldSet.eTag(version))) {
+            return null;
+        }
+
+        GroupResponse group = savingsGroupService.getGroupById(groupId, version, fieldSet);
+        // no-cache rather than Spring Security's default no-store, so clients keep the body and revalidate
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(fieldSet.eTag(group.getVersion()))
+                .body(fieldSet.applyDetail(ApiResponse.success(group)));
+    }
+
+    @GetMapping(value = "/{groupId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamGroupEvents(@PathVariable String groupId,
+                                        @AuthenticationPrincipal JwtUserDetails userDetails) {
+        log.info("Opening event stream for group: {}", groupId);
+        savingsGroupService.checkCanViewEvents(groupId, userDetails.getUserId());
+        return groupEventBus.subscribeToGroup(groupId);
     }
 
     @PutMapping("/{groupId}")
@@ -62,12 +186,15 @@ public class SavingsGroupController {
     }
 
     @PostMapping("/{groupId}/join")
-    public ResponseEntity<ApiResponse<GroupResponse>> joinGroup(@PathVariable String groupId,
-                                                                @RequestParam(required = false) String userName,
-                                                                @AuthenticationPrincipal JwtUserDetails userDetails) {
+    public ResponseEntity<?> joinGroup(@PathVariable String groupId,
+                                       @RequestParam(required = false) String userName,
+                                       @RequestHeader(value = IdempotencyService.KEY_HEADER, required = false) String idempotencyKey,
+                                       @AuthenticationPrincipal JwtUserDetails userDetails) {
         log.info("User {} requesting to join group: {}", userDetails.getUserId(), groupId);
-        GroupResponse group = savingsGroupService.joinGroup(groupId, userDetails.getUserId(), userName);
-        return ResponseEntity.ok(ApiResponse.success("Join request submitted successfully", group));
+        return idempotencyService.execute(idempotencyKey, userDetails.getUserId(), "join", Arrays.asList(groupId, userName), () -> {
+            GroupResponse group = savingsGroupService.joinGroup(groupId, userDetails.getUserId(), userName);
+            return ResponseEntity.ok(ApiResponse.success("Join request submitted successfully", group));
+        });
     }
 
     @PostMapping("/{groupId}/users/{userId}/respond")
@@ -81,6 +208,49 @@ public class SavingsGroupController {
         return ResponseEntity.ok(ApiResponse.success(message, group));
     }
 
+    @PostMapping("/{groupId}/users/respond")
+    public ResponseEntity<ApiResponse<BatchJoinDecisionResponse>> respondToJoinRequests(@PathVariable String groupId,
+                                                                                        @Valid @RequestBody BatchJoinDecisionRequest request,
+                                                                                        @AuthenticationPrincipal JwtUserDetails userDetails) {
+        log.info("Responding to {} join requests in group {}", request.getDecisions().size(), groupId);
+        BatchJoinDecisionResponse response = savingsGroupService.respondToJoinRequests(groupId, request.getDecisions(), userDetails.getUserId());
+        return ResponseEntity.ok(ApiResponse.success("Join requests processed successfully", response));
+    }
+
+    @PutMapping("/{groupId}/users/{userId}/priority")
+    public ResponseEntity<ApiResponse<GroupResponse>> setMemberPriority(@PathVariable String groupId,
+                                                                        @PathVariable String userId,
+                                                                        @Valid @RequestBody MemberPriorityRequest request,
+                                                                        @AuthenticationPrincipal JwtUserDetails userDetails) {
+        log.info("Setting payout priority for user {} in group {}", userId, groupId);
+        GroupResponse group = savingsGroupService.setMemberPriority(groupId, userId, request.getPriority(), userDetails.getUserId());
+        return ResponseEntity.ok(ApiResponse.success("Member priority updated successfully", group));
+    }
+
+    @GetMapping("/{groupId}/audit")
+    public ResponseEntity<ApiResponse<List<AuditRecord>>> getAuditTrail(@PathVariable String groupId,
+                                                                       @AuthenticationPrincipal JwtUserDetails userDetails) {
+        log.info("Fetching audit trail for group: {}", groupId);
+        List<AuditRecord> records = savingsGroupService.getAuditTrail(groupId, userDetails.getUserId());
+        return ResponseEntity.ok(ApiResponse.success(records));
+    }
+
+    @PostMapping("/{groupId}/contributions")
+    public ResponseEntity<ApiResponse<ContributionBatchResponse>> recordContributions(@PathVariable String groupId,
+                                                                                      @Valid @RequestBody ContributionBatchRequest request,
+                                                                                      @AuthenticationPrincipal JwtUserDetails userDetails) {
+        log.info("Recording {} contributions for group: {}", request.getPayments().size(), groupId);
+        ContributionBatchResponse response = contributionService.recordContributions(groupId, request, userDetails.getUserId());
+        return ResponseEntity.ok(ApiResponse.success("Contributions recorded", response));
+    }
+
+    @GetMapping("/{groupId}/contributions/cycles/{cycle}")
+    public ResponseEntity<ApiResponse<CycleContributionsResponse>> getCycleContributions(@PathVariable String groupId,
+                                                                                         @PathVariable int cycle) {
+        CycleContributionsResponse contributions = contributionService.getCycleContributions(groupId, cycle);
+        return ResponseEntity.ok(ApiResponse.success(contributions));
+    }
+
     @GetMapping("/organizer/{organizerId}")
     public ResponseEntity<ApiResponse<List<GroupResponse>>> getOrganizerGroups(@PathVariable String organizerId) {
         log.info("Fetching groups for organizer: {}", organizerId);
@@ -88,6 +258,20 @@ public class SavingsGroupController {
         return ResponseEntity.ok(ApiResponse.success(groups));
     }
 
+    @GetMapping("/organizer/{organizerId}/summary")
+    public ResponseEntity<ApiResponse<List<GroupSummary>>> getOrganizerGroupSummaries(@PathVariable String organizerId) {
+        log.info("Fetching group summaries for organizer: {}", organizerId);
+        List<GroupSummary> groups = savingsGroupService.getOrganizerGroupSummaries(organizerId);
+        return ResponseEntity.ok(ApiResponse.success(groups));
+    }
+
+    @GetMapping("/organizer/{organizerId}/stats")
+    public ResponseEntity<ApiResponse<OrganizerStats>> getOrganizerStats(@PathVariable String organizerId) {
+        log.info("Fetching group stats for organizer: {}", organizerId);
+        OrganizerStats stats = organizerStatsService.getOrganizerStats(organizerId);
+        return ResponseEntity.ok(ApiResponse.success(stats));
+    }
+
     @PostMapping("/{groupId}/assign-next")
     public ResponseEntity<ApiResponse<GroupResponse>> assignNextRecipient(@PathVariable String groupId,
                                                                           @AuthenticationPrincipal JwtUserDetails userDetails) {
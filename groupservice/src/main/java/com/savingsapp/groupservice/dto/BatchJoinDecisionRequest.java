@@ -0,0 +1,20 @@
+package com.savingsapp.groupservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchJoinDecisionRequest {
+
+    @NotEmpty(message = "At least one decision is required")
+    @Size(max = 500, message = "Cannot process more than 500 decisions at once")
+    private List<@Valid JoinDecision> decisions;
+}
@@ -0,0 +1,20 @@
+package com.savingsapp.groupservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContributionBatchRequest {
+
+    @NotEmpty(message = "At least one payment is required")
+    @Size(max = 5000, message = "Cannot record more than 5000 payments at once")
+    private List<@Valid ContributionEntry> payments;
+}
@@ -0,0 +1,37 @@
+package com.savingsapp.groupservice.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContributionEntry {
+
+    // Reference from the payment provider; sending the same payment again is a no-op
+    @NotBlank(message = "Payment ID is required")
+    @Size(max = 100, message = "Payment ID cannot exceed 100 characters")
+    private String paymentId;
+
+    @NotBlank(message = "User ID is required")
+    private String userId;
+
+    @NotNull(message = "Cycle is required")
+    @Min(value = 1, message = "Cycle must be at least 1")
+    private Integer cycle;
+
+    @NotNull(message = "Amount is required")
+    @Positive(message = "Amount must be greater than zero")
+    private BigDecimal amount;
+
+    private LocalDateTime paidAt; // Defaults to the time the payment is recorded
+}
@@ -0,0 +1,22 @@
+package com.savingsapp.groupservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContributionResult {
+    private String paymentId;
+    private Outcome outcome;
+
+    public enum Outcome {
+        RECORDED,
+        ALREADY_RECORDED, // Payment was in the ledger already, or appeared earlier in the batch
+        NOT_MEMBER,       // Payer is not a member of the group
+        INVALID_CYCLE     // Cycle is beyond the group's last cycle
+    }
+}
@@ -1,5 +1,6 @@
 package com.savingsapp.groupservice.dto;
 
+import com.savingsapp.groupservice.model.SavingsGroup;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -37,4 +38,9 @@ public class CreateGroupRequest {
     private int maxMembers;
 
     private LocalDateTime startDate;
+
+    private SavingsGroup.RotationStrategy rotationStrategy;
+
+    // Optional: fixes the SEEDED_SHUFFLE order up front, otherwise one is drawn at activation
+    private Long rotationSeed;
 }
\ No newline at end of file
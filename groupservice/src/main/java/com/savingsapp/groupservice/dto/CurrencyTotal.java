@@ -0,0 +1,18 @@
+package com.savingsapp.groupservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CurrencyTotal {
+    private String currency;
+    private int groups;
+    private BigDecimal pooledPerCycle; // Sum of contributionAmount * memberCount
+}
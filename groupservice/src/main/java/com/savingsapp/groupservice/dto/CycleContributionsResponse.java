@@ -0,0 +1,37 @@
+package com.savingsapp.groupservice.dto;
+
+import com.savingsapp.groupservice.model.ContributionCycleTotal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CycleContributionsResponse {
+    private String groupId;
+    private int cycle;
+    private BigDecimal total;
+    private String currency;
+    private long payments;
+    private List<String> paidBy;
+    private LocalDateTime updatedAt;
+
+    public static CycleContributionsResponse fromEntity(ContributionCycleTotal totals, String currency) {
+        return CycleContributionsResponse.builder()
+                .groupId(totals.getGroupId())
+                .cycle(totals.getCycle())
+                .total(totals.getTotal())
+                .currency(currency)
+                .payments(totals.getPayments())
+                .paidBy(totals.getPaidBy())
+                .updatedAt(totals.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.savingsapp.groupservice.dto;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+// A ?fields= selection over GroupResponse. The same set drives the Mongo projection
+// (GroupResponse properties share their names with SavingsGroup fields) and the Jackson
+// filter, so unrequested fields are neither read from Mongo nor written to the client.
+public final class GroupFieldSet {
+
+    public static final String FILTER_ID = "groupFields";
+
+    private static final Set<String> KNOWN_FIELDS = Set.of(
+            "id", "name", "description", "organizerId", "contributionAmount", "currency",
+            "cycleDurationInMonths", "maxMembers", "createdAt", "startDate", "endDate", "status",
+            "members", "pendingMemberIds", "memberCount", "pendingCount", "currentCycle", "totalCycles", "currentRecipientId",
+            "rotationStrategy", "payoutSchedule", "payoutPosition", "version");
+
+    // Always returned: id identifies the group and version backs the ETag
+    private static final List<String> REQUIRED_FIELDS = List.of("id", "version");
+
+    // Left out unless selected or the group is read on its own: the schedule has one entry
+    // per member, which adds up in lists and streams of large groups
+    private static final Set<String> DETAIL_FIELDS = Set.of("payoutSchedule");
+
+    public static final GroupFieldSet ALL = new GroupFieldSet(null);
+
+    private final Set<String> fields; // Sorted so equal selections produce equal ETags; null means all
+
+    private GroupFieldSet(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    public static GroupFieldSet parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+
+        Set<String> selected = new TreeSet<>(REQUIRED_FIELDS);
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!KNOWN_FIELDS.contains(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            selected.add(name);
+        }
+        return new GroupFieldSet(Collections.unmodifiableSet(selected));
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    public Set<String> getFields() {
+        return fields == null ? KNOWN_FIELDS : fields;
+    }
+
+    // Mongo fields to read for the selection. The counts come from the arrays of EMBEDDED groups
+    // and from the counters of EXTERNAL ones, so a count needs both and the storage mode
+    public Set<String> getProjection() {
+        Set<String> projection = new TreeSet<>(getFields());
+        if (projection.contains("memberCount")) {
+            projection.addAll(List.of("members", "memberStorage"));
+        }
+        if (projection.contains("pendingCount")) {
+            projection.addAll(List.of("pendingMemberIds", "memberStorage"));
+        }
+        return projection;
+    }
+
+    // Whether members or pendingMemberIds are selected, which EXTERNAL groups keep outside the document
+    public boolean includesMembership() {
+        return isAll() || fields.contains("members") || fields.contains("pendingMemberIds");
+    }
+
+    public String eTag(long version) {
+        return isAll() ? String.valueOf(version) : version + ";" + String.join(",", fields);
+    }
+
+    public MappingJacksonValue apply(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (!isAll()) {
+            value.setFilters(new SimpleFilterProvider()
+                    .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+        }
+        return value;
+    }
+
+    // Like apply, but a read of one group without a selection includes the detail fields
+    public MappingJacksonValue applyDetail(Object body) {
+        MappingJacksonValue value = apply(body);
+        if (isAll()) {
+            value.setFilters(new SimpleFilterProvider().addFilter(FILTER_ID, SimpleBeanPropertyFilter.serializeAll()));
+        }
+        return value;
+    }
+
+    // Serializes GroupResponse without the detail fields wherever no field selection was applied
+    public static FilterProvider defaultFilters() {
+        return new SimpleFilterProvider().addFilter(FILTER_ID, SimpleBeanPropertyFilter.serializeAllExcept(DETAIL_FIELDS));
+    }
+
+    @Override
+    public String toString() {
+        return isAll() ? "*" : String.join(",", fields);
+    }
+}
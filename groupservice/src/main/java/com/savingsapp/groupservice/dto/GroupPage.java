@@ -0,0 +1,18 @@
+package com.savingsapp.groupservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GroupPage<T> {
+    private List<T> items;
+    private String nextCursor; // Opaque token, null when there are no more pages
+    private boolean hasMore;
+}
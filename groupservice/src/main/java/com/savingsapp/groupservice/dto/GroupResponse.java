@@ -1,5 +1,6 @@
 package com.savingsapp.groupservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.savingsapp.groupservice.model.GroupMember;
 import com.savingsapp.groupservice.model.SavingsGroup;
 import lombok.AllArgsConstructor;
@@ -12,6 +13,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
+@JsonFilter(GroupFieldSet.FILTER_ID)
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -30,9 +32,15 @@ public class GroupResponse {
     private SavingsGroup.GroupStatus status;
     private List<GroupMember> members;
     private List<String> pendingMemberIds;
+    private int memberCount;
+    private int pendingCount;
     private int currentCycle;
     private int totalCycles;
     private String currentRecipientId;
+    private SavingsGroup.RotationStrategy rotationStrategy;
+    private List<String> payoutSchedule;
+    private int payoutPosition;
+    private long version;
 
     public static GroupResponse fromEntity(SavingsGroup group) {
         return GroupResponse.builder()
@@ -50,9 +58,15 @@ public class GroupResponse {
                 .status(group.getStatus())
                 .members(group.getMembers())
                 .pendingMemberIds(group.getPendingMemberIds())
+                .memberCount(group.getMemberTotal())
+                .pendingCount(group.getPendingTotal())
                 .currentCycle(group.getCurrentCycle())
                 .totalCycles(group.getTotalCycles())
                 .currentRecipientId(group.getCurrentRecipientId())
+                .rotationStrategy(group.getRotationStrategy())
+                .payoutSchedule(group.getPayoutSchedule())
+                .payoutPosition(group.getPayoutPosition())
+                .version(group.getVersion() == null ? 0L : group.getVersion())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.savingsapp.groupservice.dto;
+
+import com.savingsapp.groupservice.model.SavingsGroup;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GroupSearchCriteria {
+    private String text;   // Words matched against name and description
+    private String prefix; // Case-insensitive start of the name
+    private SavingsGroup.GroupStatus status;
+    private String currency;
+    private BigDecimal minContribution;
+    private BigDecimal maxContribution;
+}
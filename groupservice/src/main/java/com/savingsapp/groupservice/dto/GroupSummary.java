@@ -0,0 +1,30 @@
+package com.savingsapp.groupservice.dto;
+
+import com.savingsapp.groupservice.model.SavingsGroup;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GroupSummary {
+    private String id;
+    private String name;
+    private String organizerId;
+    private BigDecimal contributionAmount;
+    private String currency;
+    private int maxMembers;
+    private int memberCount;
+    private int pendingCount;
+    private SavingsGroup.GroupStatus status;
+    private LocalDateTime startDate;
+    private int currentCycle;
+    private int totalCycles;
+    private String currentRecipientId;
+}
@@ -0,0 +1,19 @@
+package com.savingsapp.groupservice.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JoinDecision {
+
+    @NotBlank(message = "User ID is required")
+    private String userId;
+
+    @NotNull(message = "Response is required")
+    private Boolean approved;
+}
@@ -0,0 +1,23 @@
+package com.savingsapp.groupservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JoinDecisionResult {
+    private String userId;
+    private Outcome outcome;
+
+    public enum Outcome {
+        APPROVED,
+        REJECTED,
+        NOT_PENDING,  // User had no pending request, nothing changed
+        GROUP_FULL,   // Approval did not fit in the remaining slots, request stays pending
+        DUPLICATE     // Same user appeared earlier in the batch
+    }
+}
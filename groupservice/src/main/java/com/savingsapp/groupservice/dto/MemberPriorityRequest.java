@@ -0,0 +1,17 @@
+package com.savingsapp.groupservice.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberPriorityRequest {
+
+    @NotNull(message = "Priority is required")
+    @Min(value = 0, message = "Priority cannot be negative")
+    private Integer priority;
+}
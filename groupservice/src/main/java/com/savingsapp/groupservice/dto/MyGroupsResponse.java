@@ -0,0 +1,17 @@
+package com.savingsapp.groupservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MyGroupsResponse {
+    private List<UserGroupEntry> memberships; // Groups the user organizes or belongs to
+    private List<UserGroupEntry> pendingRequests;
+}
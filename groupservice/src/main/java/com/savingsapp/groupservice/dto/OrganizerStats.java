@@ -0,0 +1,24 @@
+package com.savingsapp.groupservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrganizerStats {
+    private String organizerId;
+    private Map<String, Integer> groupsByStatus;
+    private List<CurrencyTotal> currencies; // OPEN and ACTIVE groups only
+    private int memberCount;
+    private int pendingCount;
+    private List<UpcomingPayout> upcomingPayouts;
+    private LocalDateTime generatedAt;
+}
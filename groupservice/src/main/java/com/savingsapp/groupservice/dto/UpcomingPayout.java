@@ -0,0 +1,22 @@
+package com.savingsapp.groupservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UpcomingPayout {
+    private String groupId;
+    private String name;
+    private String currentRecipientId;
+    private LocalDateTime dueAt;
+    private BigDecimal amount;
+    private String currency;
+}
@@ -3,6 +3,7 @@ package com.savingsapp.groupservice.dto;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Size;
+import com.savingsapp.groupservice.model.SavingsGroup;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -31,4 +32,9 @@ public class UpdateGroupRequest {
     private Integer cycleDurationInMonths;
 
     private LocalDateTime startDate;
+
+    private SavingsGroup.RotationStrategy rotationStrategy;
+
+    // Fixes the SEEDED_SHUFFLE order; like the other fields it can only change before activation
+    private Long rotationSeed;
 }
\ No newline at end of file
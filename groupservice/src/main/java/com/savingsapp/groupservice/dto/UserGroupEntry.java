@@ -0,0 +1,16 @@
+package com.savingsapp.groupservice.dto;
+
+import com.savingsapp.groupservice.model.UserGroupIndexEntry;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserGroupEntry {
+    private UserGroupIndexEntry.Role role;
+    private GroupSummary group;
+}
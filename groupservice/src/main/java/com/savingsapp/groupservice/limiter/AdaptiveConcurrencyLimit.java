@@ -0,0 +1,133 @@
+package com.savingsapp.groupservice.limiter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// AIMD limit on concurrent requests. Each completed request is compared with a slowly moving
+// latency baseline: while requests finish within tolerance x baseline and the limit is in use,
+// the limit grows by one; a slower request or a 5xx shrinks it by backoffRatio. A single user
+// may hold at most userShare of the limit, so one heavy client cannot take every slot.
+public class AdaptiveConcurrencyLimit {
+
+    // The baseline follows about the last 500 samples, so a lasting change in normal latency
+    // is learned instead of holding the limit at its minimum
+    private static final double BASELINE_WEIGHT = 0.002;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double tolerance;
+    private final double userShare;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ConcurrentHashMap<String, Integer> inFlightByUser = new ConcurrentHashMap<>();
+    private final LongAdder limitRejections = new LongAdder();
+    private final LongAdder userRejections = new LongAdder();
+
+    private volatile int limit;
+    private double estimatedLimit; // guarded by this
+    private double baselineNanos;  // guarded by this
+
+    public AdaptiveConcurrencyLimit(String name, int initialLimit, int minLimit, int maxLimit,
+                                    double backoffRatio, double tolerance, double userShare) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Invalid limits for " + name + ": min " + minLimit + ", max " + maxLimit);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.tolerance = tolerance;
+        this.userShare = userShare;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    // On success the caller must call release with the same user once the request completes
+    public boolean tryAcquire(String user) {
+        int current = limit;
+        int userLimit = Math.max(1, (int) (current * userShare));
+
+        boolean[] admitted = new boolean[1];
+        inFlightByUser.compute(user, (key, held) -> {
+            int count = held == null ? 0 : held;
+            if (count >= userLimit) {
+                return held;
+            }
+            admitted[0] = true;
+            return count + 1;
+        });
+        if (!admitted[0]) {
+            userRejections.increment();
+            return false;
+        }
+
+        while (true) {
+            int active = inFlight.get();
+            if (active >= current) {
+                releaseUser(user);
+                limitRejections.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(active, active + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // dropped marks a request that failed in a way that suggests overload (5xx)
+    public void release(String user, long latencyNanos, boolean dropped) {
+        int active = inFlight.getAndDecrement();
+        releaseUser(user);
+        onSample(latencyNanos, active, dropped);
+    }
+
+    // Frees the slot without a latency sample, for responses whose duration says nothing about
+    // load, such as streams that stay open while the client reads them
+    public void release(String user) {
+        inFlight.decrementAndGet();
+        releaseUser(user);
+    }
+
+    private void releaseUser(String user) {
+        inFlightByUser.computeIfPresent(user, (key, held) -> held <= 1 ? null : held - 1);
+    }
+
+    private synchronized void onSample(long latencyNanos, int inFlightAtRelease, boolean dropped) {
+        if (baselineNanos == 0) {
+            baselineNanos = latencyNanos;
+        }
+
+        if (dropped || latencyNanos > baselineNanos * tolerance) {
+            estimatedLimit = Math.max(minLimit, estimatedLimit * backoffRatio);
+        } else if (inFlightAtRelease * 2 >= estimatedLimit) {
+            // Only grow while at least half the limit is in use, otherwise the limit is not what bounds throughput
+            estimatedLimit = Math.min(maxLimit, estimatedLimit + 1);
+        }
+
+        baselineNanos += (latencyNanos - baselineNanos) * BASELINE_WEIGHT;
+        limit = (int) estimatedLimit;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getLimitRejections() {
+        return limitRejections.sum();
+    }
+
+    public long getUserRejections() {
+        return userRejections.sum();
+    }
+}
@@ -0,0 +1,185 @@
+package com.savingsapp.groupservice.limiter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.savingsapp.groupservice.dto.ApiResponse;
+import com.savingsapp.groupservice.security.JwtUserDetails;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Admission control for /api/groups. Reads and writes have separate adaptive limits so slow
+// writes do not starve reads; a request over the limit gets an immediate 503 instead of
+// waiting for a Tomcat thread. Runs after JwtAuthenticationFilter so requests count against
+// their user, anonymous ones against their address.
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String LIMITED_PATH = "/api/groups";
+
+    private final ObjectMapper objectMapper;
+    private final AdaptiveConcurrencyLimit readLimit;
+    private final AdaptiveConcurrencyLimit writeLimit;
+    private final boolean enabled;
+    private final int retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(ObjectMapper objectMapper,
+                                  @Value("${groupservice.limiter.enabled:true}") boolean enabled,
+                                  @Value("${groupservice.limiter.read.initial-limit:50}") int readInitial,
+                                  @Value("${groupservice.limiter.read.min-limit:10}") int readMin,
+                                  @Value("${groupservice.limiter.read.max-limit:150}") int readMax,
+                                  @Value("${groupservice.limiter.write.initial-limit:20}") int writeInitial,
+                                  @Value("${groupservice.limiter.write.min-limit:4}") int writeMin,
+                                  @Value("${groupservice.limiter.write.max-limit:50}") int writeMax,
+                                  @Value("${groupservice.limiter.backoff-ratio:0.9}") double backoffRatio,
+                                  @Value("${groupservice.limiter.tolerance:2.0}") double tolerance,
+                                  @Value("${groupservice.limiter.user-share:0.25}") double userShare,
+                                  @Value("${groupservice.limiter.retry-after-seconds:1}") int retryAfterSeconds) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.readLimit = new AdaptiveConcurrencyLimit("read", readInitial, readMin, readMax, backoffRatio, tolerance, userShare);
+        this.writeLimit = new AdaptiveConcurrencyLimit("write", writeInitial, writeMin, writeMax, backoffRatio, tolerance, userShare);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        // SSE and the blocking NDJSON stream stay open for minutes and would pin a slot for their lifetime
+        return !enabled
+                || !path.startsWith(LIMITED_PATH)
+                || path.endsWith("/events")
+                || path.endsWith("/stream");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimit limit = isRead(request) ? readLimit : writeLimit;
+        String user = user(request);
+
+        if (!limit.tryAcquire(user)) {
+            reject(response);
+            return;
+        }
+
+        long started = System.nanoTime();
+        boolean async = false;
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // Mono/Flux handlers complete on another thread, and the async dispatch skips
+                // this filter, so the slot is held until the response is actually finished
+                request.getAsyncContext().addListener(new AsyncRelease(limit, user, started));
+                async = true;
+            }
+            dropped = isDropped(response);
+        } finally {
+            if (!async) {
+                limit.release(user, System.nanoTime() - started, dropped);
+            }
+        }
+    }
+
+    public AdaptiveConcurrencyLimit getReadLimit() {
+        return readLimit;
+    }
+
+    public AdaptiveConcurrencyLimit getWriteLimit() {
+        return writeLimit;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error("Service is busy, please retry later"));
+    }
+
+    private static boolean isDropped(HttpServletResponse response) {
+        return response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method);
+    }
+
+    private static String user(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtUserDetails userDetails) {
+            return userDetails.getUserId();
+        }
+        return request.getRemoteAddr();
+    }
+
+    // Releases an async request's slot once, on whichever of complete, error or timeout comes first
+    private static final class AsyncRelease implements AsyncListener {
+
+        private final AdaptiveConcurrencyLimit limit;
+        private final String user;
+        private final long started;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private AsyncRelease(AdaptiveConcurrencyLimit limit, String user, long started) {
+            this.limit = limit;
+            this.user = user;
+            this.started = started;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            // An NDJSON stream lasts as long as the client reads, which is not a latency signal
+            if (!isDropped(response) && isStream(response)) {
+                limit.release(user);
+            } else {
+                limit.release(user, System.nanoTime() - started, isDropped(response));
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            if (released.compareAndSet(false, true)) {
+                limit.release(user, System.nanoTime() - started, true);
+            }
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            if (released.compareAndSet(false, true)) {
+                limit.release(user, System.nanoTime() - started, true);
+            }
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // A new async cycle drops the registered listeners
+            event.getAsyncContext().addListener(this);
+        }
+
+        private static boolean isStream(HttpServletResponse response) {
+            String contentType = response.getContentType();
+            return contentType != null && contentType.startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.savingsapp.groupservice.migration;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import com.savingsapp.groupservice.model.SavingsGroup;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Fills nameKey on groups created before prefix search existed; groups that already have a
+// nameKey are not touched. The key is computed in Java with SavingsGroup.nameKeyOf rather
+// than with $toLower/$trim, which fold case and whitespace differently from
+// toLowerCase(Locale.ROOT)/trim(), so migrated keys match the ones new groups get.
+@Component
+@Order(3)
+@RequiredArgsConstructor
+@Slf4j
+public class GroupNameKeyMigration implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final Bson MISSING_KEY = Filters.and(Filters.exists("nameKey", false), Filters.type("name", BsonType.STRING));
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${groupservice.migration.name-key.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            migrate();
+        } catch (DataAccessException | MongoException e) {
+            log.error("Group name key migration failed: {}", e.getMessage());
+        }
+    }
+
+    public long migrate() {
+        MongoCollection<Document> groups = mongoTemplate.getCollection(mongoTemplate.getCollectionName(SavingsGroup.class));
+        List<WriteModel<Document>> batch = new ArrayList<>(BATCH_SIZE);
+        long modified = 0;
+
+        for (Document group : groups.find(MISSING_KEY).projection(new Document("name", 1))) {
+            String name = group.getString("name");
+
+            // A group renamed since the read already got its nameKey from the rename
+            batch.add(new UpdateOneModel<>(
+                    Filters.and(Filters.eq("_id", group.get("_id")), Filters.eq("name", name), MISSING_KEY),
+                    Updates.set("nameKey", SavingsGroup.nameKeyOf(name))));
+
+            if (batch.size() == BATCH_SIZE) {
+                modified += groups.bulkWrite(batch, new BulkWriteOptions().ordered(false)).getModifiedCount();
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            modified += groups.bulkWrite(batch, new BulkWriteOptions().ordered(false)).getModifiedCount();
+        }
+
+        if (modified > 0) {
+            log.info("Set nameKey on {} savings groups", modified);
+        }
+        return modified;
+    }
+}
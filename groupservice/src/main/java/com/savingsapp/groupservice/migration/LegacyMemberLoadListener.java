@@ -0,0 +1,29 @@
+package com.savingsapp.groupservice.migration;
+
+import com.savingsapp.groupservice.model.SavingsGroup;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterLoadEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Until MemberEncodingMigration has rewritten every group (and while older instances still
+// write legacy members), groups are decoded from either encoding: legacy members are
+// converted in the raw document before it is mapped, so nothing is lost on the next save
+@Component
+public class LegacyMemberLoadListener extends AbstractMongoEventListener<SavingsGroup> {
+
+    @Override
+    public void onAfterLoad(AfterLoadEvent<SavingsGroup> event) {
+        Document document = event.getDocument();
+        if (document == null || !(document.get("members") instanceof List<?>)) {
+            return;
+        }
+
+        List<Document> members = document.getList("members", Document.class);
+        if (LegacyMembers.containsLegacy(members)) {
+            document.put("members", LegacyMembers.encodeAll(members));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.savingsapp.groupservice.migration;
+
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+// Conversion of members stored with the original long field names to the compact encoding,
+// shared by the migration and by reads of documents that have not been migrated yet
+final class LegacyMembers {
+
+    private LegacyMembers() {
+    }
+
+    static boolean containsLegacy(List<Document> members) {
+        for (Document member : members) {
+            if (member.containsKey("userId")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static List<Document> encodeAll(List<Document> members) {
+        List<Document> encoded = new ArrayList<>(members.size());
+        for (Document member : members) {
+            encoded.add(encode(member));
+        }
+        return encoded;
+    }
+
+    static Document encode(Document member) {
+        // Members already in the compact form are passed through unchanged
+        if (!member.containsKey("userId")) {
+            return member;
+        }
+
+        Document encoded = new Document("u", member.get("userId"));
+        putIfPresent(encoded, "n", member.get("name"));
+        putIfPresent(encoded, "j", member.get("joinedAt"));
+        putIfPresent(encoded, "s", member.get("status"));
+        putIfPresent(encoded, "lc", member.get("lastContributionDate"));
+
+        BitSet cycles = new BitSet();
+        for (Object cycle : member.getList("cyclesReceived", Object.class, List.of())) {
+            if (cycle instanceof Number number && number.intValue() >= 0) {
+                cycles.set(number.intValue());
+            }
+        }
+
+        List<Long> words = new ArrayList<>();
+        for (long word : cycles.toLongArray()) {
+            words.add(word);
+        }
+        encoded.put("c", words);
+        return encoded;
+    }
+
+    private static void putIfPresent(Document document, String key, Object value) {
+        if (value != null) {
+            document.put(key, value);
+        }
+    }
+}
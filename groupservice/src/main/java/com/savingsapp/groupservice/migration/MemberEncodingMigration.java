@@ -0,0 +1,87 @@
+package com.savingsapp.groupservice.migration;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import com.savingsapp.groupservice.model.SavingsGroup;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Rewrites members stored with the original long field names and cyclesReceived
+// integer lists into the compact encoding used by GroupMember. Safe to run repeatedly:
+// only documents that still contain a legacy member are touched. Instances that predate
+// the compact encoding may keep writing legacy members while this runs; those stay
+// readable through LegacyMemberLoadListener and are rewritten on the next run.
+@Component
+@Order(0)
+@RequiredArgsConstructor
+@Slf4j
+public class MemberEncodingMigration implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 500;
+    private static final Bson LEGACY_MEMBERS = Filters.exists("members.userId");
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${groupservice.migration.member-encoding.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            migrate();
+        } catch (DataAccessException | MongoException e) {
+            log.error("Member encoding migration failed: {}", e.getMessage());
+        }
+    }
+
+    public long migrate() {
+        MongoCollection<Document> groups = mongoTemplate.getCollection(mongoTemplate.getCollectionName(SavingsGroup.class));
+        List<WriteModel<Document>> batch = new ArrayList<>(BATCH_SIZE);
+        long migrated = 0;
+
+        for (Document group : groups.find(LEGACY_MEMBERS).projection(new Document("members", 1).append("version", 1))) {
+            List<Document> encoded = LegacyMembers.encodeAll(group.getList("members", Document.class, List.of()));
+
+            // Guarded by version so a member added or changed since the read is not overwritten;
+            // a skipped group is picked up by the next run and is readable meanwhile
+            batch.add(new UpdateOneModel<>(
+                    Filters.and(Filters.eq("_id", group.get("_id")), Filters.eq("version", group.get("version"))),
+                    Updates.combine(Updates.set("members", encoded), Updates.inc("version", 1L))));
+
+            if (batch.size() == BATCH_SIZE) {
+                migrated += groups.bulkWrite(batch, new BulkWriteOptions().ordered(false)).getModifiedCount();
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            migrated += groups.bulkWrite(batch, new BulkWriteOptions().ordered(false)).getModifiedCount();
+        }
+
+        if (migrated > 0) {
+            log.info("Migrated {} savings groups to the compact member encoding", migrated);
+        }
+        return migrated;
+    }
+}
@@ -0,0 +1,89 @@
+package com.savingsapp.groupservice.migration;
+
+import com.mongodb.MongoException;
+import com.savingsapp.groupservice.model.SavingsGroup;
+import com.savingsapp.groupservice.repository.SavingsGroupRepository;
+import com.savingsapp.groupservice.service.ExternalMembershipStore;
+import com.savingsapp.groupservice.service.GroupCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+// Moves existing groups whose maxMembers reaches the external threshold from embedded
+// arrays to group_memberships. Runs after MemberEncodingMigration so members are copied
+// in the compact encoding. Safe to run repeatedly: a group that changes while it is being
+// copied stays EMBEDDED and is picked up again on the next run.
+@Component
+@Order(1)
+@RequiredArgsConstructor
+@Slf4j
+public class MemberStorageMigration implements ApplicationRunner {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final MongoTemplate mongoTemplate;
+    private final SavingsGroupRepository savingsGroupRepository;
+    private final ExternalMembershipStore externalMembershipStore;
+    private final GroupCache groupCache;
+
+    @Value("${groupservice.migration.member-storage.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || externalMembershipStore.getExternalThreshold() <= 0) {
+            return;
+        }
+
+        try {
+            migrate();
+        } catch (DataAccessException | MongoException e) {
+            log.error("Member storage migration failed: {}", e.getMessage());
+        }
+    }
+
+    public long migrate() {
+        Query candidates = new Query(Criteria.where("memberStorage").ne(SavingsGroup.MemberStorage.EXTERNAL)
+                .and("maxMembers").gte(externalMembershipStore.getExternalThreshold()));
+        candidates.fields().include("id");
+
+        long moved = 0;
+        try (Stream<SavingsGroup> groups = mongoTemplate.stream(candidates, SavingsGroup.class)) {
+            for (String groupId : groups.map(SavingsGroup::getId).toList()) {
+                if (move(groupId)) {
+                    moved++;
+                }
+            }
+        }
+
+        if (moved > 0) {
+            log.info("Moved {} savings groups to external member storage", moved);
+        }
+        return moved;
+    }
+
+    private boolean move(String groupId) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            SavingsGroup group = savingsGroupRepository.findById(groupId).orElse(null);
+            if (group == null || group.hasExternalMembers()) {
+                return false;
+            }
+            if (externalMembershipStore.moveToExternal(group)) {
+                groupCache.evict(groupId);
+                return true;
+            }
+        }
+        log.warn("Group {} kept changing during member storage migration, will retry on next start", groupId);
+        return false;
+    }
+}
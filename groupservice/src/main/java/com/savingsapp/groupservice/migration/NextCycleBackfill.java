@@ -0,0 +1,117 @@
+package com.savingsapp.groupservice.migration;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.model.ReplaceOptions;
+import com.savingsapp.groupservice.model.SavingsGroup;
+import com.savingsapp.groupservice.service.ExternalMembershipStore;
+import com.savingsapp.groupservice.service.GroupCache;
+import com.savingsapp.groupservice.service.rotation.PayoutRotationEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+
+// Sets nextCycleAt on ACTIVE groups that were activated before the cycle scheduler existed,
+// so the scheduler picks them up: startDate plus one cycle duration per payout already made.
+// Runs once (tracked with a marker): afterwards a missing nextCycleAt means the scheduler
+// stopped the group on purpose and is left alone. Runs after the member migrations so
+// schedules of legacy groups are rebuilt from members in their final storage.
+@Component
+@Order(4)
+@RequiredArgsConstructor
+@Slf4j
+public class NextCycleBackfill implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String MARKER_COLLECTION = "migrations";
+    private static final String MARKER_ID = "next-cycle-backfill";
+
+    private final MongoTemplate mongoTemplate;
+    private final PayoutRotationEngine payoutRotationEngine;
+    private final ExternalMembershipStore externalMembershipStore;
+    private final GroupCache groupCache;
+
+    @Value("${groupservice.migration.next-cycle.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            if (isCompleted()) {
+                return;
+            }
+            backfill();
+            markCompleted();
+        } catch (DataAccessException | MongoException e) {
+            log.error("Next cycle backfill failed: {}", e.getMessage());
+        }
+    }
+
+    public long backfill() {
+        long scheduled = 0;
+        String lastId = null;
+
+        List<SavingsGroup> groups;
+        do {
+            Query query = new Query(Criteria.where("status").is(SavingsGroup.GroupStatus.ACTIVE)
+                    .and("nextCycleAt").is(null)
+                    .and("startDate").ne(null))
+                    .with(Sort.by(Sort.Direction.ASC, "id"))
+                    .limit(BATCH_SIZE);
+            if (lastId != null) {
+                query.addCriteria(Criteria.where("id").gt(lastId));
+            }
+
+            groups = mongoTemplate.find(query, SavingsGroup.class);
+            if (groups.isEmpty()) {
+                break;
+            }
+            lastId = groups.get(groups.size() - 1).getId();
+            externalMembershipStore.hydrateMembers(groups);
+
+            // Guarded by version: a group changed since the read was advanced or rescheduled
+            // by someone else and keeps what they wrote
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SavingsGroup.class);
+            for (SavingsGroup group : groups) {
+                Update update = new Update();
+                payoutRotationEngine.scheduleFromPosition(group, update);
+                bulk.updateOne(new Query(Criteria.where("id").is(group.getId()).and("version").is(group.getVersion())),
+                        update.inc("version", 1));
+            }
+            scheduled += bulk.execute().getModifiedCount();
+            groups.forEach(group -> groupCache.evict(group.getId()));
+        } while (groups.size() == BATCH_SIZE);
+
+        if (scheduled > 0) {
+            log.info("Scheduled the next cycle of {} active groups", scheduled);
+        }
+        return scheduled;
+    }
+
+    private boolean isCompleted() {
+        return mongoTemplate.getCollection(MARKER_COLLECTION).find(new Document("_id", MARKER_ID)).first() != null;
+    }
+
+    private void markCompleted() {
+        mongoTemplate.getCollection(MARKER_COLLECTION).replaceOne(new Document("_id", MARKER_ID),
+                new Document("_id", MARKER_ID).append("completedAt", new Date()), new ReplaceOptions().upsert(true));
+    }
+}
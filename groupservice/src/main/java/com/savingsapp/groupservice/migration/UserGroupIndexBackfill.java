@@ -0,0 +1,146 @@
+package com.savingsapp.groupservice.migration;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.model.ReplaceOptions;
+import com.savingsapp.groupservice.model.GroupMembership;
+import com.savingsapp.groupservice.model.SavingsGroup;
+import com.savingsapp.groupservice.model.UserGroupIndexEntry;
+import com.savingsapp.groupservice.repository.UserGroupIndexRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Builds user_group_index from existing groups once, on the first start after it was
+// introduced; completion is recorded in the migrations collection. Runs after the member
+// migrations so it reads members in their final encoding and storage.
+@Component
+@Order(2)
+@RequiredArgsConstructor
+@Slf4j
+public class UserGroupIndexBackfill implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String MARKER_COLLECTION = "migrations";
+    private static final String MARKER_ID = "user-group-index-backfill";
+
+    private final MongoTemplate mongoTemplate;
+    private final UserGroupIndexRepository userGroupIndexRepository;
+
+    @Value("${groupservice.migration.user-group-index.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            if (isCompleted()) {
+                return;
+            }
+            backfill();
+            markCompleted();
+        } catch (DataAccessException | MongoException e) {
+            log.error("User group index backfill failed: {}", e.getMessage());
+        }
+    }
+
+    public long backfill() {
+        List<UserGroupIndexEntry> batch = new ArrayList<>(BATCH_SIZE);
+        LocalDateTime now = LocalDateTime.now();
+        long written = 0;
+
+        Map<String, String> externalOrganizers = new HashMap<>();
+        Document projection = new Document("organizerId", 1).append("members.u", 1)
+                .append("pendingMemberIds", 1).append("memberStorage", 1);
+        for (Document group : mongoTemplate.getCollection(mongoTemplate.getCollectionName(SavingsGroup.class))
+                .find().projection(projection)) {
+            String groupId = group.getObjectId("_id").toHexString();
+            String organizerId = group.getString("organizerId");
+            batch.add(entry(organizerId, groupId, UserGroupIndexEntry.Role.ORGANIZER, now));
+            if (SavingsGroup.MemberStorage.EXTERNAL.name().equals(group.getString("memberStorage"))) {
+                externalOrganizers.put(groupId, organizerId);
+            }
+
+            for (Document member : group.getList("members", Document.class, List.of())) {
+                String userId = member.getString("u");
+                if (userId != null && !userId.equals(organizerId)) {
+                    batch.add(entry(userId, groupId, UserGroupIndexEntry.Role.MEMBER, now));
+                }
+            }
+            for (String userId : group.getList("pendingMemberIds", String.class, List.of())) {
+                batch.add(entry(userId, groupId, UserGroupIndexEntry.Role.PENDING, now));
+            }
+            written += flushIfFull(batch);
+        }
+
+        // Groups with external member storage keep their members in group_memberships
+        for (Document membership : mongoTemplate.getCollection(mongoTemplate.getCollectionName(GroupMembership.class))
+                .find().projection(new Document("groupId", 1).append("userId", 1).append("state", 1))) {
+            UserGroupIndexEntry.Role role = GroupMembership.State.PENDING.name().equals(membership.getString("state"))
+                    ? UserGroupIndexEntry.Role.PENDING
+                    : UserGroupIndexEntry.Role.MEMBER;
+            String userId = membership.getString("userId");
+            String groupId = membership.getString("groupId");
+
+            // The organizer entry written above must not be downgraded to MEMBER
+            if (userId == null || userId.equals(externalOrganizers.get(groupId))) {
+                continue;
+            }
+            batch.add(entry(userId, groupId, role, now));
+            written += flushIfFull(batch);
+        }
+
+        userGroupIndexRepository.upsertAll(batch);
+        written += batch.size();
+
+        log.info("Backfilled {} user group index entries", written);
+        return written;
+    }
+
+    // Completion is recorded explicitly: the index is never empty once UserGroupIndexer has
+    // seen a change, and a backfill that stopped halfway must run again (its upserts are idempotent)
+    private boolean isCompleted() {
+        return mongoTemplate.getCollection(MARKER_COLLECTION).find(new Document("_id", MARKER_ID)).first() != null;
+    }
+
+    private void markCompleted() {
+        mongoTemplate.getCollection(MARKER_COLLECTION).replaceOne(new Document("_id", MARKER_ID),
+                new Document("_id", MARKER_ID).append("completedAt", new Date()), new ReplaceOptions().upsert(true));
+    }
+
+    private int flushIfFull(List<UserGroupIndexEntry> batch) {
+        if (batch.size() < BATCH_SIZE) {
+            return 0;
+        }
+        int size = batch.size();
+        userGroupIndexRepository.upsertAll(batch);
+        batch.clear();
+        return size;
+    }
+
+    private static UserGroupIndexEntry entry(String userId, String groupId, UserGroupIndexEntry.Role role, LocalDateTime since) {
+        return UserGroupIndexEntry.builder()
+                .id(UserGroupIndexEntry.idOf(userId, groupId))
+                .userId(userId)
+                .groupId(groupId)
+                .role(role)
+                .since(since)
+                .build();
+    }
+}
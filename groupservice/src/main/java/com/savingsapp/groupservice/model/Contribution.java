@@ -0,0 +1,49 @@
+package com.savingsapp.groupservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// One payment into a group's pot. The ledger is append-only and is the source of truth for
+// the per-cycle totals in ContributionCycleTotal.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "contributions")
+@CompoundIndexes({
+        // Index names carry the index set version, see SavingsGroupIndexManager
+        @CompoundIndex(name = "cl_group_cycle_user_v1", def = "{'groupId': 1, 'cycle': 1, 'userId': 1}")
+})
+public class Contribution {
+
+    // "<groupId>:<paymentId>", so a payment sent twice is rejected by the _id index
+    @Id
+    private String id;
+
+    private String groupId;
+    private int cycle;
+    private String userId;
+    private String paymentId;
+
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal amount;
+
+    private String currency;
+    private LocalDateTime paidAt;
+    private LocalDateTime recordedAt;
+
+    public static String idOf(String groupId, String paymentId) {
+        return groupId + ":" + paymentId;
+    }
+}
@@ -0,0 +1,60 @@
+package com.savingsapp.groupservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Running totals of one group cycle, updated with $inc/$addToSet as payments are recorded.
+// The ledger is the source of truth: applying a payment is guarded by appliedPayments, so
+// totals that missed a payment are repaired by re-applying the ledger entries.
+// Kept beside the group rather than in it: paidBy for every cycle would keep growing the
+// group document and every payment would contend with membership updates on its version.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "contribution_totals")
+@CompoundIndexes({
+        // Index names carry the index set version, see SavingsGroupIndexManager
+        @CompoundIndex(name = "ct_group_cycle_v1", def = "{'groupId': 1, 'cycle': 1}")
+})
+public class ContributionCycleTotal {
+
+    // "<groupId>:<cycle>"
+    @Id
+    private String id;
+
+    private String groupId;
+    private int cycle;
+
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal total;
+
+    private long payments;
+
+    @Builder.Default
+    private List<String> paidBy = new ArrayList<>();
+
+    // Payment ids already counted in total, so a payment is never applied twice when the
+    // totals are re-applied from the ledger
+    @Builder.Default
+    private List<String> appliedPayments = new ArrayList<>();
+
+    private LocalDateTime updatedAt;
+
+    public static String idOf(String groupId, int cycle) {
+        return groupId + ":" + cycle;
+    }
+}
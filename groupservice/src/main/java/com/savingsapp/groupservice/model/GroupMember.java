@@ -1,12 +1,16 @@
 package com.savingsapp.groupservice.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.mapping.Field;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 @Data
@@ -15,24 +19,72 @@ import java.util.List;
 @Builder
 public class GroupMember {
 
+    // Stored field names are kept short because they repeat for every member of every group
+
+    @Field("u")
     private String userId;
+
+    @Field("n")
     private String name; // User's display name
+
+    @Field("j")
     private LocalDateTime joinedAt;
 
     @Builder.Default
+    @Field("s")
     private MemberStatus status = MemberStatus.ACTIVE;
 
+    // Bitset of cycles in which this member received the payout (bit n = cycle n)
+    @JsonIgnore
     @Builder.Default
-    private List<Integer> cyclesReceived = new ArrayList<>();
+    @Field("c")
+    private long[] receivedCycles = new long[0];
 
+    @Field("lc")
     private LocalDateTime lastContributionDate;
 
+    // Used by the PRIORITY rotation strategy, higher is paid earlier
+    @Field("p")
+    private int priority;
+
     public enum MemberStatus {
         ACTIVE,
         INACTIVE
     }
 
     public boolean hasReceivedInCurrentCycle(int currentCycle) {
-        return cyclesReceived.contains(currentCycle);
+        int word = currentCycle >>> 6;
+        return currentCycle >= 0 && receivedCycles != null && word < receivedCycles.length
+                && (receivedCycles[word] & (1L << currentCycle)) != 0;
+    }
+
+    public void markReceived(int cycle) {
+        if (cycle < 0) {
+            throw new IllegalArgumentException("Cycle cannot be negative: " + cycle);
+        }
+
+        int word = cycle >>> 6;
+        if (receivedCycles == null || word >= receivedCycles.length) {
+            receivedCycles = receivedCycles == null ? new long[word + 1] : Arrays.copyOf(receivedCycles, word + 1);
+        }
+        receivedCycles[word] |= 1L << cycle;
+    }
+
+    // API representation of the bitset, in ascending cycle order
+    @Transient
+    public List<Integer> getCyclesReceived() {
+        List<Integer> cycles = new ArrayList<>();
+        if (receivedCycles == null) {
+            return cycles;
+        }
+
+        for (int word = 0; word < receivedCycles.length; word++) {
+            long bits = receivedCycles[word];
+            while (bits != 0) {
+                cycles.add((word << 6) + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+        return cycles;
     }
-}
\ No newline at end of file
+}
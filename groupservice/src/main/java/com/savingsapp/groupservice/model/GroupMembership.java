@@ -0,0 +1,47 @@
+package com.savingsapp.groupservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// Membership of one user in a group using EXTERNAL member storage. The _id is
+// "<groupId>:<userId>", so membership checks are point lookups on the primary key.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "group_memberships")
+@CompoundIndexes({
+        // Index names carry the index set version, see SavingsGroupIndexManager
+        @CompoundIndex(name = "gm_group_state_joinedAt_v1", def = "{'groupId': 1, 'state': 1, 'member.j': 1}"),
+        @CompoundIndex(name = "gm_user_state_v1", def = "{'userId': 1, 'state': 1}")
+})
+public class GroupMembership {
+
+    @Id
+    private String id;
+
+    private String groupId;
+    private String userId;
+    private State state;
+    private LocalDateTime requestedAt;
+
+    // Set once the request is approved
+    private GroupMember member;
+
+    public enum State {
+        PENDING,
+        MEMBER
+    }
+
+    public static String idOf(String groupId, String userId) {
+        return groupId + ":" + userId;
+    }
+}
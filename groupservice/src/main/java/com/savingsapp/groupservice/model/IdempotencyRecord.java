@@ -0,0 +1,43 @@
+package com.savingsapp.groupservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// The outcome of a request sent with an Idempotency-Key, so a retry gets the stored
+// response instead of running the request again. Mongo drops records after a day.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "idempotency_keys")
+public class IdempotencyRecord {
+
+    // "<userId>:<operation>:<key>", keys are scoped to the caller and the endpoint
+    @Id
+    private String id;
+
+    private String fingerprint; // Hash of the request the key was first used with
+    private State state;
+    private int status;
+    private String body;        // Response body as JSON
+
+    // Index names carry the index set version, see SavingsGroupIndexManager
+    @Indexed(name = "ik_createdAt_ttl_v1", expireAfter = "24h")
+    private LocalDateTime createdAt;
+
+    public enum State {
+        IN_PROGRESS,
+        COMPLETED
+    }
+
+    public static String idOf(String userId, String operation, String key) {
+        return userId + ":" + operation + ":" + key;
+    }
+}
@@ -1,22 +1,46 @@
 package com.savingsapp.groupservice.model;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Document(collection = "savings_groups")
+@CompoundIndexes({
+        // Index names carry the index set version, see SavingsGroupIndexManager
+        @CompoundIndex(name = "gs_organizer_status_v1", def = "{'organizerId': 1, 'status': 1}"),
+        @CompoundIndex(name = "gs_status_startDate_v1", def = "{'status': 1, 'startDate': 1}"),
+        @CompoundIndex(name = "gs_members_userId_v2", def = "{'members.u': 1}"),
+        @CompoundIndex(name = "gs_pendingMemberIds_v1", def = "{'pendingMemberIds': 1}"),
+        @CompoundIndex(name = "gs_status_nextCycleAt_v1", def = "{'status': 1, 'nextCycleAt': 1}"),
+        @CompoundIndex(name = "gs_name_description_text_v1", def = "{'name': 'text', 'description': 'text'}"),
+        @CompoundIndex(name = "gs_nameKey_v1", def = "{'nameKey': 1}")
+})
 public class SavingsGroup {
 
     @Id
@@ -24,6 +48,10 @@ public class SavingsGroup {
 
     private String name;
     private String description;
+
+    // Lower-cased name for case-insensitive prefix search on an ordinary index
+    private String nameKey;
+
     private String organizerId;
     private BigDecimal contributionAmount;
     private String currency;
@@ -36,16 +64,66 @@ public class SavingsGroup {
     @Builder.Default
     private GroupStatus status = GroupStatus.OPEN;
 
+    // EMBEDDED keeps members and pendingMemberIds in this document. EXTERNAL keeps them in
+    // group_memberships and only the counters below here; the lists are then filled in
+    // (hydrated) by ExternalMembershipStore when a caller needs them.
+    @Builder.Default
+    private MemberStorage memberStorage = MemberStorage.EMBEDDED;
+
     @Builder.Default
     private List<GroupMember> members = new ArrayList<>();
 
     @Builder.Default
     private List<String> pendingMemberIds = new ArrayList<>();
 
+    private int memberCount;  // EXTERNAL storage only
+    private int pendingCount; // EXTERNAL storage only
+
     private int currentCycle;
     private int totalCycles;
     private String currentRecipientId;
 
+    // Payout rotation: the schedule is drawn once when the group becomes ACTIVE and
+    // payoutPosition counts payouts made so far (round = position / schedule size + 1)
+    @Builder.Default
+    private RotationStrategy rotationStrategy = RotationStrategy.JOIN_ORDER;
+
+    private Long rotationSeed;
+
+    @Builder.Default
+    private List<String> payoutSchedule = new ArrayList<>();
+
+    private int payoutPosition;
+
+    // When the next payout is due; only set while ACTIVE, drives the cycle scheduler
+    private LocalDateTime nextCycleAt;
+
+    // Claim held by a scheduler instance while it advances this group
+    private String leaseOwner;
+    private LocalDateTime leaseUntil;
+
+    // Lease owner of the scheduler run that last advanced this group; tells that run which
+    // of its guarded updates landed
+    private String lastAdvancedBy;
+
+    @Version
+    private Long version;
+
+    // Hashed lookups over members and pendingMemberIds, built lazily on first use after load
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Map<String, Integer> memberIndex;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Set<String> pendingMemberIndex;
+
     public enum GroupStatus {
         OPEN,       // Group is open for new members
         ACTIVE,     // Group has started cycles but not accepting new members
@@ -53,6 +131,17 @@ public class SavingsGroup {
         CLOSED      // Group was closed prematurely
     }
 
+    public enum RotationStrategy {
+        JOIN_ORDER,      // Members are paid in the order they joined
+        SEEDED_SHUFFLE,  // Random order drawn from rotationSeed
+        PRIORITY         // Highest member priority (bid) first, ties by join order
+    }
+
+    public enum MemberStorage {
+        EMBEDDED,
+        EXTERNAL
+    }
+
     public boolean isActive() {
         return status == GroupStatus.ACTIVE;
     }
@@ -61,15 +150,61 @@ public class SavingsGroup {
         return status == GroupStatus.OPEN;
     }
 
+    public static String nameKeyOf(String name) {
+        return name == null ? null : name.trim().toLowerCase(Locale.ROOT);
+    }
+
     public boolean isFull() {
-        return members.size() >= maxMembers;
+        return getMemberTotal() >= maxMembers;
+    }
+
+    public boolean hasExternalMembers() {
+        return memberStorage == MemberStorage.EXTERNAL;
+    }
+
+    public int getMemberTotal() {
+        return hasExternalMembers() ? memberCount : members.size();
+    }
+
+    public int getPendingTotal() {
+        return hasExternalMembers() ? pendingCount : pendingMemberIds.size();
     }
 
     public boolean hasMember(String userId) {
-        return members.stream().anyMatch(member -> member.getUserId().equals(userId));
+        return getMember(userId) != null;
+    }
+
+    public GroupMember getMember(String userId) {
+        int position = getMemberPosition(userId);
+        return position < 0 ? null : members.get(position);
+    }
+
+    public int getMemberPosition(String userId) {
+        // A size mismatch means the list was modified in place since the index was built
+        if (memberIndex == null || memberIndex.size() != members.size()) {
+            memberIndex = new HashMap<>(members.size() * 2);
+            for (int i = 0; i < members.size(); i++) {
+                memberIndex.put(members.get(i).getUserId(), i);
+            }
+        }
+        Integer position = memberIndex.get(userId);
+        return position == null ? -1 : position;
     }
 
     public boolean hasPendingMember(String userId) {
-        return pendingMemberIds.contains(userId);
+        if (pendingMemberIndex == null || pendingMemberIndex.size() != pendingMemberIds.size()) {
+            pendingMemberIndex = new HashSet<>(pendingMemberIds);
+        }
+        return pendingMemberIndex.contains(userId);
+    }
+
+    public void setMembers(List<GroupMember> members) {
+        this.members = members;
+        this.memberIndex = null;
+    }
+
+    public void setPendingMemberIds(List<String> pendingMemberIds) {
+        this.pendingMemberIds = pendingMemberIds;
+        this.pendingMemberIndex = null;
     }
 }
\ No newline at end of file
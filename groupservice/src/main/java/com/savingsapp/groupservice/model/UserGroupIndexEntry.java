@@ -0,0 +1,49 @@
+package com.savingsapp.groupservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.time.LocalDateTime;
+
+// Denormalized user -> group relation, so "my groups" is one indexed lookup instead of
+// scans over every group's member and pending arrays. Kept up to date by UserGroupIndexer.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "user_group_index")
+@CompoundIndexes({
+        // Index names carry the index set version, see SavingsGroupIndexManager
+        @CompoundIndex(name = "ug_user_role_v1", def = "{'userId': 1, 'role': 1}"),
+        @CompoundIndex(name = "ug_group_v1", def = "{'groupId': 1}")
+})
+public class UserGroupIndexEntry {
+
+    @Id
+    private String id;
+
+    private String userId;
+    // Stored as an ObjectId so it joins against savings_groups._id
+    @Field(targetType = FieldType.OBJECT_ID)
+    private String groupId;
+    private Role role;
+    private LocalDateTime since;
+
+    public enum Role {
+        ORGANIZER,
+        MEMBER,
+        PENDING
+    }
+
+    public static String idOf(String userId, String groupId) {
+        return userId + ":" + groupId;
+    }
+}
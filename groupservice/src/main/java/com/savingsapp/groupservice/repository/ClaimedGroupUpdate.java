@@ -0,0 +1,6 @@
+package com.savingsapp.groupservice.repository;
+
+import org.springframework.data.mongodb.core.query.Update;
+
+public record ClaimedGroupUpdate(String groupId, Long expectedVersion, Update update) {
+}
@@ -0,0 +1,9 @@
+package com.savingsapp.groupservice.repository;
+
+import com.savingsapp.groupservice.model.Contribution;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ContributionRepository extends MongoRepository<Contribution, String>, ContributionRepositoryCustom {
+}
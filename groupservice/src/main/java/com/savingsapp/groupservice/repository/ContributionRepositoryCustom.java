@@ -0,0 +1,17 @@
+package com.savingsapp.groupservice.repository;
+
+import com.savingsapp.groupservice.model.Contribution;
+
+import java.util.List;
+
+public interface ContributionRepositoryCustom {
+
+    // Unordered bulk insert; returns the contributions that were written, payments already in
+    // the ledger are skipped
+    List<Contribution> insertNew(List<Contribution> contributions);
+
+    // Creates missing cycle totals, then one guarded $inc/$addToSet per contribution;
+    // contributions already counted in their cycle's totals are skipped, so ledger entries
+    // can be re-applied safely
+    void addToCycleTotals(String groupId, List<Contribution> contributions);
+}
@@ -0,0 +1,114 @@
+package com.savingsapp.groupservice.repository;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import com.savingsapp.groupservice.model.Contribution;
+import com.savingsapp.groupservice.model.ContributionCycleTotal;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.Decimal128;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+@RequiredArgsConstructor
+public class ContributionRepositoryImpl implements ContributionRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Contribution> insertNew(List<Contribution> contributions) {
+        if (contributions.isEmpty()) {
+            return contributions;
+        }
+
+        // Unordered, so one duplicate does not stop the rest of the batch
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Contribution.class);
+        bulk.insert(contributions);
+        try {
+            bulk.execute();
+            return contributions;
+        } catch (BulkOperationException e) {
+            Set<Integer> duplicates = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+                    throw e;
+                }
+                duplicates.add(error.getIndex());
+            }
+
+            List<Contribution> inserted = new ArrayList<>(contributions.size() - duplicates.size());
+            for (int i = 0; i < contributions.size(); i++) {
+                if (!duplicates.contains(i)) {
+                    inserted.add(contributions.get(i));
+                }
+            }
+            return inserted;
+        }
+    }
+
+    @Override
+    public void addToCycleTotals(String groupId, List<Contribution> contributions) {
+        if (contributions.isEmpty()) {
+            return;
+        }
+
+        // The totals documents are created first, so the guarded updates below never upsert:
+        // an upsert whose filter stops matching would fail on the _id index, or race another
+        // batch creating the same cycle
+        Set<Integer> cycles = new TreeSet<>();
+        contributions.forEach(contribution -> cycles.add(contribution.getCycle()));
+        BulkOperations create = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ContributionCycleTotal.class);
+        for (int cycle : cycles) {
+            create.upsert(new Query(Criteria.where("id").is(ContributionCycleTotal.idOf(groupId, cycle))),
+                    new Update()
+                            .setOnInsert("groupId", groupId)
+                            .setOnInsert("cycle", cycle)
+                            .setOnInsert("total", new Decimal128(BigDecimal.ZERO))
+                            .setOnInsert("payments", 0L));
+        }
+        executeIgnoringDuplicates(create);
+
+        BulkOperations apply = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ContributionCycleTotal.class);
+        LocalDateTime now = LocalDateTime.now();
+        for (Contribution contribution : contributions) {
+            // Once the payment is in appliedPayments the filter no longer matches, so
+            // re-applying a ledger entry is a no-op
+            Query query = new Query(Criteria.where("id").is(ContributionCycleTotal.idOf(groupId, contribution.getCycle()))
+                    .and("appliedPayments").ne(contribution.getPaymentId()));
+
+            // Decimal128 so $inc adds exactly; a BigDecimal would be written as a string
+            Update update = new Update()
+                    .inc("total", new Decimal128(contribution.getAmount()))
+                    .inc("payments", 1)
+                    .addToSet("paidBy", contribution.getUserId())
+                    .addToSet("appliedPayments", contribution.getPaymentId())
+                    .set("updatedAt", now);
+            apply.updateOne(query, update);
+        }
+        apply.execute();
+    }
+
+    // Concurrent batches may create the same cycle's totals; the loser's upsert is redundant
+    private static void executeIgnoringDuplicates(BulkOperations bulk) {
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+                    throw e;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.savingsapp.groupservice.repository;
+
+import com.savingsapp.groupservice.model.GroupMembership;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface GroupMembershipRepository extends MongoRepository<GroupMembership, String>, GroupMembershipRepositoryCustom {
+
+    boolean existsByIdAndState(String id, GroupMembership.State state);
+
+    List<GroupMembership> findByGroupIdAndStateOrderByMemberJoinedAtAsc(String groupId, GroupMembership.State state);
+
+    List<GroupMembership> findByGroupIdInAndState(Collection<String> groupIds, GroupMembership.State state);
+
+    List<GroupMembership> findByGroupIdAndState(String groupId, GroupMembership.State state);
+
+    long deleteByGroupId(String groupId);
+}
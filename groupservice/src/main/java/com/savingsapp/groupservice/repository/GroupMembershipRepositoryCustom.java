@@ -0,0 +1,32 @@
+package com.savingsapp.groupservice.repository;
+
+import com.savingsapp.groupservice.model.GroupMember;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface GroupMembershipRepositoryCustom {
+
+    // Inserts a PENDING membership; returns false if the user already has one in the group
+    boolean insertPending(String groupId, String userId);
+
+    // PENDING -> MEMBER; returns false if the user was not pending
+    boolean promote(String groupId, GroupMember member);
+
+    // MEMBER -> PENDING, used to undo a promotion whose slot reservation was lost
+    void demote(String groupId, String userId);
+
+    // Deletes a PENDING membership; returns false if the user was not pending
+    boolean removePending(String groupId, String userId);
+
+    boolean setPriority(String groupId, String userId, int priority);
+
+    // Persists receivedCycles for each member in one unordered bulk write
+    void saveReceivedCycles(String groupId, List<GroupMember> members);
+
+    // Counts memberships by state for each of the given groups; groups without memberships are omitted
+    List<MembershipCounts> countByGroup(Collection<String> groupIds);
+
+    // Replaces every membership of a group, used when moving a group to EXTERNAL storage
+    void replaceAll(String groupId, List<GroupMember> members, List<String> pendingUserIds);
+}
@@ -0,0 +1,146 @@
+package com.savingsapp.groupservice.repository;
+
+import com.savingsapp.groupservice.model.GroupMember;
+import com.savingsapp.groupservice.model.GroupMembership;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class GroupMembershipRepositoryImpl implements GroupMembershipRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean insertPending(String groupId, String userId) {
+        try {
+            mongoTemplate.insert(GroupMembership.builder()
+                    .id(GroupMembership.idOf(groupId, userId))
+                    .groupId(groupId)
+                    .userId(userId)
+                    .state(GroupMembership.State.PENDING)
+                    .requestedAt(LocalDateTime.now())
+                    .build());
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean promote(String groupId, GroupMember member) {
+        Query query = inState(groupId, member.getUserId(), GroupMembership.State.PENDING);
+        Update update = new Update()
+                .set("state", GroupMembership.State.MEMBER)
+                .set("member", member);
+
+        return mongoTemplate.updateFirst(query, update, GroupMembership.class).getModifiedCount() == 1;
+    }
+
+    @Override
+    public void demote(String groupId, String userId) {
+        Query query = inState(groupId, userId, GroupMembership.State.MEMBER);
+        Update update = new Update()
+                .set("state", GroupMembership.State.PENDING)
+                .unset("member");
+
+        mongoTemplate.updateFirst(query, update, GroupMembership.class);
+    }
+
+    @Override
+    public boolean removePending(String groupId, String userId) {
+        Query query = inState(groupId, userId, GroupMembership.State.PENDING);
+        return mongoTemplate.remove(query, GroupMembership.class).getDeletedCount() == 1;
+    }
+
+    @Override
+    public boolean setPriority(String groupId, String userId, int priority) {
+        Query query = inState(groupId, userId, GroupMembership.State.MEMBER);
+        return mongoTemplate.updateFirst(query, new Update().set("member.priority", priority), GroupMembership.class)
+                .getMatchedCount() == 1;
+    }
+
+    @Override
+    public void saveReceivedCycles(String groupId, List<GroupMember> members) {
+        if (members.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GroupMembership.class);
+        for (GroupMember member : members) {
+            bulk.updateOne(inState(groupId, member.getUserId(), GroupMembership.State.MEMBER),
+                    new Update().set("member.receivedCycles", member.getReceivedCycles()));
+        }
+        bulk.execute();
+    }
+
+    @Override
+    public List<MembershipCounts> countByGroup(Collection<String> groupIds) {
+        if (groupIds.isEmpty()) {
+            return List.of();
+        }
+
+        // Served by gm_group_state_joinedAt_v1
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("groupId").in(groupIds)),
+                Aggregation.group("groupId")
+                        .sum(countIf(GroupMembership.State.MEMBER)).as("members")
+                        .sum(countIf(GroupMembership.State.PENDING)).as("pending"),
+                Aggregation.project("members", "pending").and("groupId").previousOperation());
+
+        return mongoTemplate.aggregate(aggregation, GroupMembership.class, MembershipCounts.class).getMappedResults();
+    }
+
+    private static ConditionalOperators.Cond countIf(GroupMembership.State state) {
+        return ConditionalOperators.when(Criteria.where("state").is(state.name())).then(1).otherwise(0);
+    }
+
+    @Override
+    public void replaceAll(String groupId, List<GroupMember> members, List<String> pendingUserIds) {
+        mongoTemplate.remove(new Query(Criteria.where("groupId").is(groupId)), GroupMembership.class);
+
+        List<GroupMembership> memberships = new ArrayList<>(members.size() + pendingUserIds.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (GroupMember member : members) {
+            memberships.add(GroupMembership.builder()
+                    .id(GroupMembership.idOf(groupId, member.getUserId()))
+                    .groupId(groupId)
+                    .userId(member.getUserId())
+                    .state(GroupMembership.State.MEMBER)
+                    .requestedAt(member.getJoinedAt())
+                    .member(member)
+                    .build());
+        }
+        for (String userId : pendingUserIds) {
+            memberships.add(GroupMembership.builder()
+                    .id(GroupMembership.idOf(groupId, userId))
+                    .groupId(groupId)
+                    .userId(userId)
+                    .state(GroupMembership.State.PENDING)
+                    .requestedAt(now)
+                    .build());
+        }
+
+        if (!memberships.isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GroupMembership.class);
+            bulk.insert(memberships);
+            bulk.execute();
+        }
+    }
+
+    private static Query inState(String groupId, String userId, GroupMembership.State state) {
+        return new Query(Criteria.where("id").is(GroupMembership.idOf(groupId, userId))
+                .and("state").is(state));
+    }
+}
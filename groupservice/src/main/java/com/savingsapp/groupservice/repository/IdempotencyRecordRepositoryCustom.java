@@ -0,0 +1,18 @@
+package com.savingsapp.groupservice.repository;
+
+import com.savingsapp.groupservice.model.IdempotencyRecord;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepositoryCustom {
+
+    // Inserts an IN_PROGRESS record for the key. Empty means the caller now owns the key;
+    // otherwise the existing record is returned. A claim older than staleBefore is taken over.
+    Optional<IdempotencyRecord> claimOrGet(String id, String fingerprint, LocalDateTime staleBefore);
+
+    void complete(String id, String fingerprint, int status, String body);
+
+    // Drops an unfinished claim so the request can be retried
+    void release(String id);
+}
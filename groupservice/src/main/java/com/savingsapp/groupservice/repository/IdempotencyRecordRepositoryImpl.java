@@ -0,0 +1,62 @@
+package com.savingsapp.groupservice.repository;
+
+import com.savingsapp.groupservice.model.IdempotencyRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class IdempotencyRecordRepositoryImpl implements IdempotencyRecordRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<IdempotencyRecord> claimOrGet(String id, String fingerprint, LocalDateTime staleBefore) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            mongoTemplate.insert(IdempotencyRecord.builder()
+                    .id(id)
+                    .fingerprint(fingerprint)
+                    .state(IdempotencyRecord.State.IN_PROGRESS)
+                    .createdAt(now)
+                    .build());
+            return Optional.empty();
+        } catch (DuplicateKeyException e) {
+            // The unique _id decides between instances; an owner that died mid-request
+            // leaves a claim that expires after the lease
+            Query abandoned = new Query(Criteria.where("id").is(id)
+                    .and("state").is(IdempotencyRecord.State.IN_PROGRESS)
+                    .and("createdAt").lt(staleBefore));
+            Update takeOver = new Update().set("fingerprint", fingerprint).set("createdAt", now);
+            if (mongoTemplate.updateFirst(abandoned, takeOver, IdempotencyRecord.class).getModifiedCount() == 1) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(mongoTemplate.findById(id, IdempotencyRecord.class));
+        }
+    }
+
+    @Override
+    public void complete(String id, String fingerprint, int status, String body) {
+        // Upsert, in case the claim expired while the request ran
+        Update update = new Update()
+                .set("fingerprint", fingerprint)
+                .set("state", IdempotencyRecord.State.COMPLETED)
+                .set("status", status)
+                .set("body", body)
+                .setOnInsert("createdAt", LocalDateTime.now());
+
+        mongoTemplate.upsert(new Query(Criteria.where("id").is(id)), update, IdempotencyRecord.class);
+    }
+
+    @Override
+    public void release(String id) {
+        mongoTemplate.remove(new Query(Criteria.where("id").is(id)
+                .and("state").is(IdempotencyRecord.State.IN_PROGRESS)), IdempotencyRecord.class);
+    }
+}
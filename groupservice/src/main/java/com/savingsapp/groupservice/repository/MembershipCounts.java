@@ -0,0 +1,5 @@
+package com.savingsapp.groupservice.repository;
+
+// Members and pending requests of one group as counted in group_memberships
+public record MembershipCounts(String groupId, int members, int pending) {
+}
@@ -0,0 +1,12 @@
+package com.savingsapp.groupservice.repository;
+
+import com.savingsapp.groupservice.model.SavingsGroup;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveSavingsGroupRepository extends ReactiveMongoRepository<SavingsGroup, String> {
+
+    Flux<SavingsGroup> findByOrganizerId(String organizerId);
+}
@@ -8,7 +8,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface SavingsGroupRepository extends MongoRepository<SavingsGroup, String> {
+public interface SavingsGroupRepository extends MongoRepository<SavingsGroup, String>, SavingsGroupRepositoryCustom {
 
     List<SavingsGroup> findByOrganizerId(String organizerId);
 
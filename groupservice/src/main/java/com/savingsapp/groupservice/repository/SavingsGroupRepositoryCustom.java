@@ -0,0 +1,91 @@
+package com.savingsapp.groupservice.repository;
+
+import com.savingsapp.groupservice.dto.GroupSearchCriteria;
+import com.savingsapp.groupservice.dto.GroupSummary;
+import com.savingsapp.groupservice.dto.OrganizerStats;
+import com.savingsapp.groupservice.model.GroupMember;
+import com.savingsapp.groupservice.model.SavingsGroup;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public interface SavingsGroupRepositoryCustom {
+
+    // fields limits which document fields are read; null reads whole documents
+    List<SavingsGroup> findPageAfterId(String lastId, int limit, Collection<String> fields);
+
+    Optional<SavingsGroup> findByIdWithFields(String groupId, Collection<String> fields);
+
+    void streamAll(int batchSize, Consumer<SavingsGroup> consumer);
+
+    // Summaries are projected server-side, so member arrays never leave Mongo
+    List<GroupSummary> findSummariesAfterId(String lastId, int limit);
+
+    List<GroupSummary> findSummariesByOrganizerId(String organizerId);
+
+    // Keyset-paged on _id like findSummariesAfterId; text and prefix use their own indexes
+    List<GroupSummary> searchSummaries(GroupSearchCriteria criteria, String lastId, int limit);
+
+    // All organizer dashboard figures in one $facet aggregation over the organizer's groups
+    OrganizerStats findOrganizerStats(String organizerId, int upcomingPayoutLimit);
+
+    // Reads only _id and version; legacy documents without a version report 0
+    Optional<Long> findVersionById(String groupId);
+
+    // Conditional single-round-trip updates. Each returns the updated group, or
+    // an empty Optional when the group is missing or one of its guards failed.
+
+    Optional<SavingsGroup> addPendingMember(String groupId, String userId);
+
+    Optional<SavingsGroup> approvePendingMember(String groupId, String organizerId, GroupMember member);
+
+    Optional<SavingsGroup> rejectPendingMember(String groupId, String organizerId, String userId);
+
+    // Removes every resolved id from pendingMemberIds and appends the approved members,
+    // provided all of them are still pending and the approvals fit within maxMembers
+    Optional<SavingsGroup> resolvePendingMembers(String groupId, String organizerId,
+                                                 List<String> resolvedUserIds, List<GroupMember> approvedMembers);
+
+    Optional<SavingsGroup> updateDetails(String groupId, String organizerId, Update update);
+
+    Optional<SavingsGroup> closeGroup(String groupId, String organizerId);
+
+    Optional<SavingsGroup> setMemberPriority(String groupId, String organizerId, String userId, int priority);
+
+    Optional<SavingsGroup> updateIfVersion(String groupId, Long expectedVersion, Update update);
+
+    // Counter updates for groups with EXTERNAL member storage; memberships themselves
+    // live in group_memberships (see GroupMembershipRepository)
+
+    Optional<SavingsGroup> addExternalPending(String groupId);
+
+    // Takes approved member slots and resolves pending requests, provided the approvals fit
+    Optional<SavingsGroup> reserveExternalMembers(String groupId, String organizerId, int approved, int resolved);
+
+    // Reverts a reservation whose membership write did not go through
+    void adjustExternalCounters(String groupId, int memberDelta, int pendingDelta);
+
+    // id, version and counters of EXTERNAL groups after lastId, in _id order, for reconciliation
+    List<SavingsGroup> findExternalCountersAfterId(String lastId, int limit);
+
+    // Overwrites the counters of an EXTERNAL group that has not changed since expectedVersion
+    boolean setExternalCounters(String groupId, Long expectedVersion, int memberCount, int pendingCount);
+
+    // Bumps the version of an OPEN group owned by organizerId after a membership-only change
+    Optional<SavingsGroup> touchExternal(String groupId, String organizerId);
+
+    Optional<SavingsGroup> moveToExternalMembers(String groupId, Long expectedVersion, int memberCount, int pendingCount);
+
+    // Cycle scheduler support: claims up to batchSize ACTIVE groups whose next cycle is due
+    // and whose lease is free, and returns the groups this owner actually won
+    List<SavingsGroup> claimDueGroups(LocalDateTime now, String leaseOwner, LocalDateTime leaseUntil, int batchSize);
+
+    // Applies each update in one unordered bulk write, guarded by lease owner and version,
+    // and releases the lease; returns the ids of the groups whose update was applied
+    Set<String> applyClaimedUpdates(String leaseOwner, List<ClaimedGroupUpdate> updates);
+}
@@ -0,0 +1,493 @@
+package com.savingsapp.groupservice.repository;
+
+import com.savingsapp.groupservice.dto.GroupSearchCriteria;
+import com.savingsapp.groupservice.dto.GroupSummary;
+import com.savingsapp.groupservice.dto.OrganizerStats;
+import com.savingsapp.groupservice.model.GroupMember;
+import com.savingsapp.groupservice.model.SavingsGroup;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.Decimal128;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.BooleanOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.aggregation.ProjectionOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class SavingsGroupRepositoryImpl implements SavingsGroupRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<SavingsGroup> findPageAfterId(String lastId, int limit, Collection<String> fields) {
+        // Keyset pagination on _id: ObjectIds are monotonic with creation time,
+        // so "_id > lastId" walks the collection in createdAt order using the _id index
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .limit(limit);
+
+        if (lastId != null) {
+            query.addCriteria(Criteria.where("id").gt(lastId));
+        }
+        includeOnly(query, fields);
+
+        return mongoTemplate.find(query, SavingsGroup.class);
+    }
+
+    @Override
+    public Optional<SavingsGroup> findByIdWithFields(String groupId, Collection<String> fields) {
+        Query query = new Query(Criteria.where("id").is(groupId));
+        includeOnly(query, fields);
+
+        return Optional.ofNullable(mongoTemplate.findOne(query, SavingsGroup.class));
+    }
+
+    @Override
+    public void streamAll(int batchSize, Consumer<SavingsGroup> consumer) {
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .cursorBatchSize(batchSize);
+
+        // Documents are pulled from the server cursor one batch at a time
+        try (Stream<SavingsGroup> groups = mongoTemplate.stream(query, SavingsGroup.class)) {
+            groups.forEach(consumer);
+        }
+    }
+
+    @Override
+    public List<GroupSummary> findSummariesAfterId(String lastId, int limit) {
+        List<AggregationOperation> pipeline = new ArrayList<>();
+        if (lastId != null) {
+            pipeline.add(Aggregation.match(Criteria.where("id").gt(lastId)));
+        }
+        pipeline.add(Aggregation.sort(Sort.Direction.ASC, "id"));
+        pipeline.add(Aggregation.limit(limit));
+        pipeline.add(summaryProjection());
+
+        return mongoTemplate.aggregate(Aggregation.newAggregation(SavingsGroup.class, pipeline), GroupSummary.class)
+                .getMappedResults();
+    }
+
+    @Override
+    public List<GroupSummary> findSummariesByOrganizerId(String organizerId) {
+        return mongoTemplate.aggregate(Aggregation.newAggregation(SavingsGroup.class,
+                        Aggregation.match(Criteria.where("organizerId").is(organizerId)),
+                        summaryProjection()), GroupSummary.class)
+                .getMappedResults();
+    }
+
+    @Override
+    public List<GroupSummary> searchSummaries(GroupSearchCriteria criteria, String lastId, int limit) {
+        List<AggregationOperation> pipeline = new ArrayList<>();
+        // $text has to be in the first stage of the pipeline
+        if (criteria.getText() != null) {
+            pipeline.add(Aggregation.match(TextCriteria.forDefaultLanguage().matching(criteria.getText())));
+        }
+
+        Criteria filter = new Criteria();
+        if (criteria.getPrefix() != null) {
+            // An anchored regex without flags becomes a range scan on gs_nameKey_v1
+            filter.and("nameKey").regex("^" + escapeRegex(SavingsGroup.nameKeyOf(criteria.getPrefix())));
+        }
+        if (criteria.getStatus() != null) {
+            filter.and("status").is(criteria.getStatus());
+        }
+        if (criteria.getCurrency() != null) {
+            filter.and("currency").is(criteria.getCurrency());
+        }
+        if (lastId != null) {
+            filter.and("id").gt(lastId);
+        }
+        if (criteria.getMinContribution() != null || criteria.getMaxContribution() != null) {
+            filter.andOperator(contributionRange(criteria.getMinContribution(), criteria.getMaxContribution()));
+        }
+
+        pipeline.add(Aggregation.match(filter));
+        pipeline.add(Aggregation.sort(Sort.Direction.ASC, "id"));
+        pipeline.add(Aggregation.limit(limit));
+        pipeline.add(summaryProjection());
+
+        return mongoTemplate.aggregate(Aggregation.newAggregation(SavingsGroup.class, pipeline), GroupSummary.class)
+                .getMappedResults();
+    }
+
+    @Override
+    public OrganizerStats findOrganizerStats(String organizerId, int upcomingPayoutLimit) {
+        // Amounts are converted with $toDecimal because BigDecimal fields are stored as strings
+        ArithmeticOperators.Multiply pool = ArithmeticOperators.Multiply.valueOf("amount").multiplyBy("memberCount");
+        List<String> running = List.of(SavingsGroup.GroupStatus.OPEN.name(), SavingsGroup.GroupStatus.ACTIVE.name());
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                // Served by gs_organizer_status_v1
+                Aggregation.match(Criteria.where("organizerId").is(organizerId)),
+                Aggregation.project("name", "currency", "status", "nextCycleAt", "currentRecipientId")
+                        .and(ConvertOperators.valueOf("contributionAmount").convertToDecimal()).as("amount")
+                        .and(externalOr("memberCount", arraySize("members"))).as("memberCount")
+                        .and(externalOr("pendingCount", arraySize("pendingMemberIds"))).as("pendingCount"),
+                Aggregation.facet(
+                                Aggregation.group("status").count().as("v"),
+                                Aggregation.project("v").and("k").previousOperation())
+                        .as("groupsByStatus")
+                        .and(
+                                Aggregation.match(Criteria.where("status").in(running)),
+                                Aggregation.group("currency").count().as("groups").sum(pool).as("pooledPerCycle"),
+                                Aggregation.sort(Sort.by("_id")),
+                                Aggregation.project("groups", "pooledPerCycle").and("currency").previousOperation())
+                        .as("currencies")
+                        .and(
+                                Aggregation.group().sum("memberCount").as("memberCount").sum("pendingCount").as("pendingCount"))
+                        .as("totals")
+                        .and(
+                                Aggregation.match(Criteria.where("status").is(SavingsGroup.GroupStatus.ACTIVE.name())
+                                        .and("nextCycleAt").ne(null)),
+                                Aggregation.sort(Sort.by("nextCycleAt")),
+                                Aggregation.limit(upcomingPayoutLimit),
+                                Aggregation.project("name", "currentRecipientId", "currency")
+                                        .and("_id").as("groupId")
+                                        .and("nextCycleAt").as("dueAt")
+                                        .and(pool).as("amount")
+                                        .andExclude("_id"))
+                        .as("upcomingPayouts"),
+                Aggregation.project("currencies", "upcomingPayouts")
+                        .and(ArrayOperators.ArrayToObject.arrayValueOfToObject("groupsByStatus")).as("groupsByStatus")
+                        .and(ArrayOperators.ArrayElemAt.arrayOf("totals.memberCount").elementAt(0)).as("memberCount")
+                        .and(ArrayOperators.ArrayElemAt.arrayOf("totals.pendingCount").elementAt(0)).as("pendingCount"));
+
+        // $facet always emits exactly one document, even when the organizer has no groups
+        OrganizerStats stats = mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(SavingsGroup.class),
+                        OrganizerStats.class)
+                .getUniqueMappedResult();
+        stats.setOrganizerId(organizerId);
+        stats.setGeneratedAt(LocalDateTime.now());
+        return stats;
+    }
+
+    @Override
+    public Optional<Long> findVersionById(String groupId) {
+        Query query = new Query(Criteria.where("id").is(groupId));
+        query.fields().include("version");
+
+        return Optional.ofNullable(mongoTemplate.findOne(query, SavingsGroup.class))
+                .map(group -> group.getVersion() == null ? 0L : group.getVersion());
+    }
+
+    @Override
+    public Optional<SavingsGroup> addPendingMember(String groupId, String userId) {
+        Query query = new Query(Criteria.where("id").is(groupId)
+                .and("memberStorage").ne(SavingsGroup.MemberStorage.EXTERNAL)
+                .and("status").is(SavingsGroup.GroupStatus.OPEN)
+                .and("members.userId").ne(userId)
+                .and("pendingMemberIds").ne(userId))
+                .addCriteria(hasFreeSlot());
+
+        return modify(query, new Update().addToSet("pendingMemberIds", userId));
+    }
+
+    @Override
+    public Optional<SavingsGroup> approvePendingMember(String groupId, String organizerId, GroupMember member) {
+        Query query = new Query(Criteria.where("id").is(groupId)
+                .and("organizerId").is(organizerId)
+                .and("pendingMemberIds").is(member.getUserId()))
+                .addCriteria(hasFreeSlot());
+
+        Update update = new Update()
+                .pull("pendingMemberIds", member.getUserId())
+                .push("members", member);
+
+        return modify(query, update);
+    }
+
+    @Override
+    public Optional<SavingsGroup> rejectPendingMember(String groupId, String organizerId, String userId) {
+        Query query = new Query(Criteria.where("id").is(groupId)
+                .and("organizerId").is(organizerId)
+                .and("pendingMemberIds").is(userId));
+
+        return modify(query, new Update().pull("pendingMemberIds", userId));
+    }
+
+    @Override
+    public Optional<SavingsGroup> resolvePendingMembers(String groupId, String organizerId,
+                                                        List<String> resolvedUserIds, List<GroupMember> approvedMembers) {
+        Query query = new Query(Criteria.where("id").is(groupId)
+                .and("organizerId").is(organizerId)
+                .and("pendingMemberIds").all(resolvedUserIds))
+                .addCriteria(hasFreeSlots(approvedMembers.size()));
+
+        Update update = new Update().pullAll("pendingMemberIds", resolvedUserIds.toArray());
+        if (!approvedMembers.isEmpty()) {
+            update.push("members").each(approvedMembers.toArray());
+        }
+
+        return modify(query, update);
+    }
+
+    @Override
+    public Optional<SavingsGroup> updateDetails(String groupId, String organizerId, Update update) {
+        Query query = new Query(Criteria.where("id").is(groupId)
+                .and("organizerId").is(organizerId)
+                .and("status").nin(SavingsGroup.GroupStatus.ACTIVE, SavingsGroup.GroupStatus.COMPLETED));
+
+        return modify(query, update);
+    }
+
+    @Override
+    public Optional<SavingsGroup> closeGroup(String groupId, String organizerId) {
+        Query query = new Query(Criteria.where("id").is(groupId)
+                .and("organizerId").is(organizerId)
+                .and("status").ne(SavingsGroup.GroupStatus.COMPLETED));
+
+        return modify(query, new Update().set("status", SavingsGroup.GroupStatus.CLOSED));
+    }
+
+    @Override
+    public Optional<SavingsGroup> setMemberPriority(String groupId, String organizerId, String userId, int priority) {
+        Query query = new Query(Criteria.where("id").is(groupId)
+                .and("organizerId").is(organizerId)
+                .and("status").is(SavingsGroup.GroupStatus.OPEN)
+                .and("members.userId").is(userId));
+
+        return modify(query, new Update().set("members.$.priority", priority));
+    }
+
+    @Override
+    public Optional<SavingsGroup> updateIfVersion(String groupId, Long expectedVersion, Update update) {
+        // A null version also matches documents written before versioning was introduced
+        Query query = new Query(Criteria.where("id").is(groupId)
+                .and("version").is(expectedVersion));
+
+        return modify(query, update);
+    }
+
+    @Override
+    public Optional<SavingsGroup> addExternalPending(String groupId) {
+        Query query = new Query(Criteria.where("id").is(groupId)
+                .and("memberStorage").is(SavingsGroup.MemberStorage.EXTERNAL)
+                .and("status").is(SavingsGroup.GroupStatus.OPEN))
+                .addCriteria(Criteria.expr(ComparisonOperators.valueOf("memberCount").lessThan("maxMembers")));
+
+        return modify(query, new Update().inc("pendingCount", 1));
+    }
+
+    @Override
+    public Optional<SavingsGroup> reserveExternalMembers(String groupId, String organizerId, int approved, int resolved) {
+        Query query = new Query(Criteria.where("id").is(groupId)
+                .and("memberStorage").is(SavingsGroup.MemberStorage.EXTERNAL)
+                .and("organizerId").is(organizerId)
+                .and("pendingCount").gte(resolved))
+                .addCriteria(Criteria.expr(ComparisonOperators.valueOf(
+                                ArithmeticOperators.Add.valueOf("memberCount").add(approved))
+                        .lessThanEqualTo("maxMembers")));
+
+        return modify(query, new Update().inc("memberCount", approved).inc("pendingCount", -resolved));
+    }
+
+    @Override
+    public void adjustExternalCounters(String groupId, int memberDelta, int pendingDelta) {
+        Query query = new Query(Criteria.where("id").is(groupId));
+        modify(query, new Update().inc("memberCount", memberDelta).inc("pendingCount", pendingDelta));
+    }
+
+    @Override
+    public List<SavingsGroup> findExternalCountersAfterId(String lastId, int limit) {
+        Query query = new Query(Criteria.where("memberStorage").is(SavingsGroup.MemberStorage.EXTERNAL))
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .limit(limit);
+        if (lastId != null) {
+            query.addCriteria(Criteria.where("id").gt(lastId));
+        }
+        query.fields().include("id", "version", "memberStorage", "memberCount", "pendingCount");
+
+        return mongoTemplate.find(query, SavingsGroup.class);
+    }
+
+    @Override
+    public boolean setExternalCounters(String groupId, Long expectedVersion, int memberCount, int pendingCount) {
+        Query query = new Query(Criteria.where("id").is(groupId)
+                .and("memberStorage").is(SavingsGroup.MemberStorage.EXTERNAL)
+                .and("version").is(expectedVersion));
+
+        return modify(query, new Update().set("memberCount", memberCount).set("pendingCount", pendingCount)).isPresent();
+    }
+
+    @Override
+    public Optional<SavingsGroup> touchExternal(String groupId, String organizerId) {
+        Query query = new Query(Criteria.where("id").is(groupId)
+                .and("memberStorage").is(SavingsGroup.MemberStorage.EXTERNAL)
+                .and("organizerId").is(organizerId)
+                .and("status").is(SavingsGroup.GroupStatus.OPEN));
+
+        return modify(query, new Update());
+    }
+
+    @Override
+    public Optional<SavingsGroup> moveToExternalMembers(String groupId, Long expectedVersion, int memberCount, int pendingCount) {
+        Query query = new Query(Criteria.where("id").is(groupId)
+                .and("memberStorage").ne(SavingsGroup.MemberStorage.EXTERNAL)
+                .and("version").is(expectedVersion));
+
+        Update update = new Update()
+                .set("memberStorage", SavingsGroup.MemberStorage.EXTERNAL)
+                .set("memberCount", memberCount)
+                .set("pendingCount", pendingCount)
+                .set("members", List.of())
+                .set("pendingMemberIds", List.of());
+        return modify(query, update);
+    }
+
+    @Override
+    public List<SavingsGroup> claimDueGroups(LocalDateTime now, String leaseOwner, LocalDateTime leaseUntil, int batchSize) {
+        Criteria due = Criteria.where("status").is(SavingsGroup.GroupStatus.ACTIVE)
+                .and("nextCycleAt").lte(now)
+                .orOperator(Criteria.where("leaseUntil").is(null), Criteria.where("leaseUntil").lt(now));
+
+        // Candidate ids come from the status+nextCycleAt index without loading documents
+        Query candidates = new Query(due).limit(batchSize);
+        candidates.fields().include("id");
+        List<String> ids = mongoTemplate.find(candidates, SavingsGroup.class).stream()
+                .map(SavingsGroup::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Other instances may claim some of the same candidates; the due/free re-check makes
+        // each group go to exactly one owner
+        Criteria claimable = Criteria.where("id").in(ids)
+                .and("status").is(SavingsGroup.GroupStatus.ACTIVE)
+                .and("nextCycleAt").lte(now)
+                .orOperator(Criteria.where("leaseUntil").is(null), Criteria.where("leaseUntil").lt(now));
+        mongoTemplate.updateMulti(new Query(claimable),
+                new Update().set("leaseOwner", leaseOwner).set("leaseUntil", leaseUntil), SavingsGroup.class);
+
+        return mongoTemplate.find(new Query(Criteria.where("id").in(ids).and("leaseOwner").is(leaseOwner)),
+                SavingsGroup.class);
+    }
+
+    @Override
+    public Set<String> applyClaimedUpdates(String leaseOwner, List<ClaimedGroupUpdate> updates) {
+        if (updates.isEmpty()) {
+            return Set.of();
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SavingsGroup.class);
+        for (ClaimedGroupUpdate claimed : updates) {
+            Query query = new Query(Criteria.where("id").is(claimed.groupId())
+                    .and("leaseOwner").is(leaseOwner)
+                    .and("version").is(claimed.expectedVersion()));
+
+            Update update = claimed.update()
+                    .set("lastAdvancedBy", leaseOwner)
+                    .unset("leaseOwner")
+                    .unset("leaseUntil")
+                    .inc("version", 1);
+            bulk.updateOne(query, update);
+        }
+        if (bulk.execute().getModifiedCount() == updates.size()) {
+            return updates.stream().map(ClaimedGroupUpdate::groupId).collect(Collectors.toSet());
+        }
+
+        // The bulk result only has a count, so the marker is re-read to tell which updates
+        // landed. The version cannot tell: any single concurrent write also moves it one past
+        // the claimed one. Lease owners are unique per run, so only this run's updates match.
+        List<String> groupIds = updates.stream().map(ClaimedGroupUpdate::groupId).toList();
+        Query markers = new Query(Criteria.where("id").in(groupIds).and("lastAdvancedBy").is(leaseOwner));
+        markers.fields().include("id");
+        Set<String> applied = mongoTemplate.find(markers, SavingsGroup.class).stream()
+                .map(SavingsGroup::getId)
+                .collect(Collectors.toSet());
+
+        // A group whose version guard failed is still leased to this owner; release it so the
+        // next run can re-plan it from the current state instead of waiting for the lease to expire
+        List<String> skipped = groupIds.stream()
+                .filter(groupId -> !applied.contains(groupId))
+                .toList();
+        mongoTemplate.updateMulti(new Query(Criteria.where("id").in(skipped).and("leaseOwner").is(leaseOwner)),
+                new Update().unset("leaseOwner").unset("leaseUntil"), SavingsGroup.class);
+        return applied;
+    }
+
+    private Optional<SavingsGroup> modify(Query query, Update update) {
+        update.inc("version", 1);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), SavingsGroup.class));
+    }
+
+    // memberStorage is always read so EXTERNAL groups can still be hydrated from group_memberships
+    private static void includeOnly(Query query, Collection<String> fields) {
+        if (fields != null) {
+            query.fields().include(fields.toArray(new String[0])).include("memberStorage");
+        }
+    }
+
+    // Shared with UserGroupIndexRepositoryImpl, which applies it inside a $lookup
+    static ProjectionOperation summaryProjection() {
+        return Aggregation.project("name", "organizerId", "contributionAmount", "currency", "maxMembers",
+                        "status", "startDate", "currentCycle", "totalCycles", "currentRecipientId")
+                .and(externalOr("memberCount", arraySize("members"))).as("memberCount")
+                .and(externalOr("pendingCount", arraySize("pendingMemberIds"))).as("pendingCount");
+    }
+
+    // Groups with EXTERNAL member storage keep counters instead of arrays
+    private static ConditionalOperators.Cond externalOr(String counter, ArrayOperators.Size embedded) {
+        return ConditionalOperators.when(Criteria.where("memberStorage").is(SavingsGroup.MemberStorage.EXTERNAL.name()))
+                .thenValueOf(counter)
+                .otherwiseValueOf(embedded);
+    }
+
+    private static ArrayOperators.Size arraySize(String field) {
+        return ArrayOperators.Size.lengthOfArray(ConditionalOperators.ifNull(field).then(Collections.emptyList()));
+    }
+
+    // contributionAmount is stored as a string, so the range is compared as Decimal128 in $expr
+    private static Criteria contributionRange(BigDecimal min, BigDecimal max) {
+        ConvertOperators.ToDecimal amount = ConvertOperators.valueOf("contributionAmount").convertToDecimal();
+        if (min != null && max != null) {
+            return Criteria.expr(BooleanOperators.And.and(
+                    ComparisonOperators.valueOf(amount).greaterThanEqualToValue(new Decimal128(min)),
+                    ComparisonOperators.valueOf(amount).lessThanEqualToValue(new Decimal128(max))));
+        }
+        return min != null
+                ? Criteria.expr(ComparisonOperators.valueOf(amount).greaterThanEqualToValue(new Decimal128(min)))
+                : Criteria.expr(ComparisonOperators.valueOf(amount).lessThanEqualToValue(new Decimal128(max)));
+    }
+
+    private static String escapeRegex(String value) {
+        return value.replaceAll("[\\\\^$.|?*+()\\[\\]{}]", "\\\\$0");
+    }
+
+    private static Criteria hasFreeSlot() {
+        return Criteria.expr(ComparisonOperators.valueOf(ArrayOperators.Size.lengthOfArray("members"))
+                .lessThan("maxMembers"));
+    }
+
+    private static Criteria hasFreeSlots(int slots) {
+        return Criteria.expr(ComparisonOperators.valueOf(
+                        ArithmeticOperators.Add.valueOf(ArrayOperators.Size.lengthOfArray("members")).add(slots))
+                .lessThanEqualTo("maxMembers"));
+    }
+}
@@ -0,0 +1,11 @@
+package com.savingsapp.groupservice.repository;
+
+import com.savingsapp.groupservice.model.UserGroupIndexEntry;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserGroupIndexRepository extends MongoRepository<UserGroupIndexEntry, String>, UserGroupIndexRepositoryCustom {
+
+    long deleteByGroupId(String groupId);
+}
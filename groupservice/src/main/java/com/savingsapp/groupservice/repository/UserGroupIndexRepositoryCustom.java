@@ -0,0 +1,19 @@
+package com.savingsapp.groupservice.repository;
+
+import com.savingsapp.groupservice.dto.UserGroupEntry;
+import com.savingsapp.groupservice.model.UserGroupIndexEntry;
+
+import java.util.List;
+
+public interface UserGroupIndexRepositoryCustom {
+
+    void upsert(String userId, String groupId, UserGroupIndexEntry.Role role);
+
+    void remove(String userId, String groupId);
+
+    // One aggregation: the user's index entries joined with a summary of each group by _id
+    List<UserGroupEntry> findGroupSummaries(String userId);
+
+    // Unordered bulk upsert, used to backfill the index
+    void upsertAll(List<UserGroupIndexEntry> entries);
+}
@@ -0,0 +1,78 @@
+package com.savingsapp.groupservice.repository;
+
+import com.savingsapp.groupservice.dto.UserGroupEntry;
+import com.savingsapp.groupservice.model.SavingsGroup;
+import com.savingsapp.groupservice.model.UserGroupIndexEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class UserGroupIndexRepositoryImpl implements UserGroupIndexRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void upsert(String userId, String groupId, UserGroupIndexEntry.Role role) {
+        Query query = new Query(Criteria.where("id").is(UserGroupIndexEntry.idOf(userId, groupId)));
+        Update update = new Update()
+                .set("userId", userId)
+                .set("groupId", groupId)
+                .set("role", role)
+                .set("since", LocalDateTime.now());
+
+        mongoTemplate.upsert(query, update, UserGroupIndexEntry.class);
+    }
+
+    @Override
+    public void remove(String userId, String groupId) {
+        mongoTemplate.remove(new Query(Criteria.where("id").is(UserGroupIndexEntry.idOf(userId, groupId))),
+                UserGroupIndexEntry.class);
+    }
+
+    @Override
+    public List<UserGroupEntry> findGroupSummaries(String userId) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("userId").is(userId)),
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, "groupId")),
+                // Joined on savings_groups._id, with the summary projected inside the lookup so
+                // member arrays never leave the server
+                Aggregation.lookup()
+                        .from(mongoTemplate.getCollectionName(SavingsGroup.class))
+                        .localField("groupId")
+                        .foreignField("_id")
+                        .pipeline(SavingsGroupRepositoryImpl.summaryProjection())
+                        .as("group"),
+                Aggregation.unwind("group"),
+                Aggregation.project("role", "group").andExclude("_id"));
+
+        return mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(UserGroupIndexEntry.class),
+                        UserGroupEntry.class)
+                .getMappedResults();
+    }
+
+    @Override
+    public void upsertAll(List<UserGroupIndexEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserGroupIndexEntry.class);
+        for (UserGroupIndexEntry entry : entries) {
+            bulk.upsert(new Query(Criteria.where("id").is(entry.getId())), new Update()
+                    .set("userId", entry.getUserId())
+                    .set("groupId", entry.getGroupId())
+                    .set("role", entry.getRole())
+                    .set("since", entry.getSince()));
+        }
+        bulk.execute();
+    }
+}
@@ -1,5 +1,6 @@
 package com.savingsapp.groupservice.security;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -37,8 +38,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             jwt = authHeader.substring(7);
             try {
                 userId = jwtUtil.extractUserId(jwt);
+            } catch (JwtException e) {
+                // Expected under bad traffic: keep it cheap, no stack trace
+                log.debug("Rejected bearer token: {}", e.getMessage());
             } catch (Exception e) {
-                log.error("Could not extract userId from token", e);
+                log.warn("Could not extract userId from token: {}", e.getMessage());
             }
         }
 
@@ -1,7 +1,10 @@
 package com.savingsapp.groupservice.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
@@ -21,11 +24,30 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    @Value("${jwt.cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    @Value("${jwt.cache.ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    @Value("${jwt.cache.negative-ttl-seconds:30}")
+    private long cacheNegativeTtlSeconds;
+
     private Key key;
 
+    // Parsers are immutable and thread-safe, so one instance serves every request
+    private JwtParser parser;
+
+    private VerifiedClaimsCache claimsCache;
+
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        this.claimsCache = new VerifiedClaimsCache(cacheMaxEntries,
+                cacheTtlSeconds * 1000, cacheNegativeTtlSeconds * 1000);
     }
 
     public String extractUsername(String token) {
@@ -47,11 +69,39 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        // A compact JWS always has exactly two dots; anything else is rejected without hashing
+        if (!hasJwsShape(token)) {
+            throw new MalformedJwtException("Token is not a compact JWS");
+        }
+
+        long now = System.currentTimeMillis();
+        String cacheKey = VerifiedClaimsCache.keyFor(token);
+
+        VerifiedClaimsCache.Entry cached = claimsCache.get(cacheKey, now);
+        if (cached != null) {
+            if (cached.isRejected()) {
+                throw new JwtException("Token was previously rejected");
+            }
+            return cached.claims();
+        }
+
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            claimsCache.putVerified(cacheKey, claims, now);
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            claimsCache.putRejected(cacheKey, now);
+            throw e;
+        }
+    }
+
+    private static boolean hasJwsShape(String token) {
+        if (token == null || token.isEmpty()) {
+            return false;
+        }
+        int first = token.indexOf('.');
+        int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+        return second > 0 && token.indexOf('.', second + 1) < 0;
     }
 
     private Boolean isTokenExpired(String token) {
@@ -62,4 +112,20 @@ public class JwtUtil {
         final String username = extractUsername(token);
         return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
     }
-}
\ No newline at end of file
+
+    public long getClaimsCacheHits() {
+        return claimsCache.getHits();
+    }
+
+    public long getClaimsCacheMisses() {
+        return claimsCache.getMisses();
+    }
+
+    public long getClaimsCacheRejections() {
+        return claimsCache.getRejections();
+    }
+
+    public int getClaimsCacheSize() {
+        return claimsCache.size();
+    }
+}
@@ -0,0 +1,120 @@
+package com.savingsapp.groupservice.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bounded cache of signature-verified claims keyed by the SHA-256 of the raw token.
+// Rejected tokens are remembered for a shorter time so replayed bad tokens skip the HMAC check.
+// Each entry expires on its own deadline (the token's exp at the latest), and a full cache
+// evicts by Caffeine's size policy instead of scanning or clearing.
+class VerifiedClaimsCache {
+
+    private final Cache<String, Entry> entries;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong rejections = new AtomicLong();
+
+    VerifiedClaimsCache(int maxEntries, long ttlMillis, long negativeTtlMillis) {
+        this.ttlMillis = ttlMillis;
+        this.negativeTtlMillis = negativeTtlMillis;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new EntryExpiry())
+                .build();
+    }
+
+    // A null claims value marks a token that already failed verification
+    record Entry(Claims claims, long expiresAt) {
+        boolean isRejected() {
+            return claims == null;
+        }
+    }
+
+    Entry get(String key, long now) {
+        Entry entry = entries.getIfPresent(key);
+        if (entry == null || entry.expiresAt() <= now) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        hits.incrementAndGet();
+        if (entry.isRejected()) {
+            rejections.incrementAndGet();
+        }
+        return entry;
+    }
+
+    void putVerified(String key, Claims claims, long now) {
+        long expiresAt = now + ttlMillis;
+        Date tokenExpiry = claims.getExpiration();
+        if (tokenExpiry != null) {
+            expiresAt = Math.min(expiresAt, tokenExpiry.getTime());
+        }
+        entries.put(key, new Entry(claims, expiresAt));
+    }
+
+    void putRejected(String key, long now) {
+        entries.put(key, new Entry(null, now + negativeTtlMillis));
+    }
+
+    // Entries live until their own expiresAt; reads do not extend them
+    private static final class EntryExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return remainingNanos(entry);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return remainingNanos(entry);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private static long remainingNanos(Entry entry) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(entry.expiresAt() - System.currentTimeMillis(), 0));
+        }
+    }
+
+    static String keyFor(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    long getHits() {
+        return hits.get();
+    }
+
+    long getMisses() {
+        return misses.get();
+    }
+
+    long getRejections() {
+        return rejections.get();
+    }
+
+    int size() {
+        return (int) entries.estimatedSize();
+    }
+}
@@ -0,0 +1,153 @@
+package com.savingsapp.groupservice.service;
+
+import com.savingsapp.groupservice.dto.ContributionBatchRequest;
+import com.savingsapp.groupservice.dto.ContributionBatchResponse;
+import com.savingsapp.groupservice.dto.ContributionEntry;
+import com.savingsapp.groupservice.dto.ContributionResult;
+import com.savingsapp.groupservice.dto.CycleContributionsResponse;
+import com.savingsapp.groupservice.exception.ResourceNotFoundException;
+import com.savingsapp.groupservice.exception.UnauthorizedException;
+import com.savingsapp.groupservice.model.Contribution;
+import com.savingsapp.groupservice.model.ContributionCycleTotal;
+import com.savingsapp.groupservice.model.GroupMember;
+import com.savingsapp.groupservice.model.SavingsGroup;
+import com.savingsapp.groupservice.repository.ContributionCycleTotalRepository;
+import com.savingsapp.groupservice.repository.ContributionRepository;
+import com.savingsapp.groupservice.repository.SavingsGroupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Records payments in the contribution ledger and keeps the per-cycle totals in step.
+// The ledger insert and the totals update are separate writes; applying a payment to the
+// totals is idempotent, so replaying a batch after a timeout repairs totals that missed it
+// without counting anything twice.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ContributionService {
+
+    private final SavingsGroupRepository savingsGroupRepository;
+    private final ContributionRepository contributionRepository;
+    private final ContributionCycleTotalRepository contributionCycleTotalRepository;
+    private final ExternalMembershipStore externalMembershipStore;
+    private final GroupMetrics groupMetrics;
+
+    public ContributionBatchResponse recordContributions(String groupId, ContributionBatchRequest request, String organizerId) {
+        SavingsGroup group = findGroup(groupId);
+
+        // Check if user is the organizer
+        if (!group.getOrganizerId().equals(organizerId)) {
+            groupMetrics.rejected(GroupMetrics.Rejection.NOT_ORGANIZER);
+            throw new UnauthorizedException("Only the organizer can record contributions");
+        }
+
+        if (!group.isActive()) {
+            groupMetrics.rejected(GroupMetrics.Rejection.INVALID_STATE);
+            throw new IllegalStateException("Contributions can only be recorded for active groups");
+        }
+
+        List<ContributionEntry> payments = request.getPayments();
+        Set<String> members = members(group, payments);
+        LocalDateTime now = LocalDateTime.now();
+
+        Set<String> seen = new HashSet<>();
+        List<ContributionResult.Outcome> outcomes = new ArrayList<>(payments.size());
+        List<Contribution> candidates = new ArrayList<>(payments.size());
+        for (ContributionEntry payment : payments) {
+            if (!seen.add(payment.getPaymentId())) {
+                outcomes.add(ContributionResult.Outcome.ALREADY_RECORDED);
+            } else if (!members.contains(payment.getUserId())) {
+                outcomes.add(ContributionResult.Outcome.NOT_MEMBER);
+            } else if (payment.getCycle() > group.getTotalCycles()) {
+                outcomes.add(ContributionResult.Outcome.INVALID_CYCLE);
+            } else {
+                outcomes.add(ContributionResult.Outcome.RECORDED);
+                candidates.add(Contribution.builder()
+                        .id(Contribution.idOf(groupId, payment.getPaymentId()))
+                        .groupId(groupId)
+                        .cycle(payment.getCycle())
+                        .userId(payment.getUserId())
+                        .paymentId(payment.getPaymentId())
+                        .amount(payment.getAmount())
+                        .currency(group.getCurrency())
+                        .paidAt(payment.getPaidAt() != null ? payment.getPaidAt() : now)
+                        .recordedAt(now)
+                        .build());
+            }
+        }
+
+        List<Contribution> recorded = contributionRepository.insertNew(candidates);
+        if (recorded.size() == candidates.size()) {
+            contributionRepository.addToCycleTotals(groupId, recorded);
+        } else {
+            // A replayed batch may follow an attempt that wrote the ledger but failed before the
+            // totals, so the stored ledger entries are re-applied; counted ones are skipped
+            contributionRepository.addToCycleTotals(groupId,
+                    contributionRepository.findAllById(candidates.stream().map(Contribution::getId).toList()));
+        }
+
+        Set<String> written = recorded.stream()
+                .map(Contribution::getPaymentId)
+                .collect(Collectors.toSet());
+        List<ContributionResult> results = new ArrayList<>(payments.size());
+        for (int i = 0; i < payments.size(); i++) {
+            String paymentId = payments.get(i).getPaymentId();
+            ContributionResult.Outcome outcome = outcomes.get(i);
+            // Payments the ledger already had were skipped by the insert
+            if (outcome == ContributionResult.Outcome.RECORDED && !written.contains(paymentId)) {
+                outcome = ContributionResult.Outcome.ALREADY_RECORDED;
+            }
+            results.add(ContributionResult.builder()
+                    .paymentId(paymentId)
+                    .outcome(outcome)
+                    .build());
+        }
+
+        log.info("Recorded {} of {} contributions for group {}", recorded.size(), payments.size(), groupId);
+        return ContributionBatchResponse.builder()
+                .recorded(recorded.size())
+                .results(results)
+                .build();
+    }
+
+    public CycleContributionsResponse getCycleContributions(String groupId, int cycle) {
+        SavingsGroup group = findGroup(groupId);
+        if (cycle < 1 || cycle > group.getTotalCycles()) {
+            throw new IllegalArgumentException("Cycle must be between 1 and " + group.getTotalCycles());
+        }
+
+        ContributionCycleTotal totals = contributionCycleTotalRepository.findById(ContributionCycleTotal.idOf(groupId, cycle))
+                .orElseGet(() -> ContributionCycleTotal.builder()
+                        .groupId(groupId)
+                        .cycle(cycle)
+                        .total(BigDecimal.ZERO)
+                        .build());
+        return CycleContributionsResponse.fromEntity(totals, group.getCurrency());
+    }
+
+    private Set<String> members(SavingsGroup group, List<ContributionEntry> payments) {
+        if (group.hasExternalMembers()) {
+            Set<String> payers = payments.stream()
+                    .map(ContributionEntry::getUserId)
+                    .collect(Collectors.toSet());
+            return externalMembershipStore.findMembers(group.getId(), payers);
+        }
+        return group.getMembers().stream()
+                .map(GroupMember::getUserId)
+                .collect(Collectors.toSet());
+    }
+
+    private SavingsGroup findGroup(String groupId) {
+        return savingsGroupRepository.findById(groupId)
+                .orElseThrow(() -> new ResourceNotFoundException("Group not found with id: " + groupId));
+    }
+}
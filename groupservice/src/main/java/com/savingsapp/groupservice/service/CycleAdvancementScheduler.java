@@ -0,0 +1,162 @@
+package com.savingsapp.groupservice.service;
+
+import com.savingsapp.groupservice.model.SavingsGroup;
+import com.savingsapp.groupservice.repository.ClaimedGroupUpdate;
+import com.savingsapp.groupservice.repository.SavingsGroupRepository;
+import com.savingsapp.groupservice.service.events.GroupEvent;
+import com.savingsapp.groupservice.service.events.GroupEventBus;
+import com.savingsapp.groupservice.service.rotation.PayoutRotationEngine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Advances every ACTIVE group whose nextCycleAt has passed. Each run claims due groups in
+// batches with a time-bound lease, so several service instances can run the scheduler at
+// once without advancing the same group twice; a crashed owner's lease simply expires.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CycleAdvancementScheduler {
+
+    private static final String SCHEDULER_ACTOR = "scheduler";
+
+    private final SavingsGroupRepository savingsGroupRepository;
+    private final PayoutRotationEngine payoutRotationEngine;
+    private final GroupCache groupCache;
+    private final GroupMetrics groupMetrics;
+    private final GroupEventBus groupEventBus;
+    private final ExternalMembershipStore externalMembershipStore;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicLong runCounter = new AtomicLong();
+
+    @Value("${groupservice.scheduler.cycle-advance.enabled:true}")
+    private boolean enabled;
+
+    @Value("${groupservice.scheduler.cycle-advance.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${groupservice.scheduler.cycle-advance.partitions:8}")
+    private int partitions;
+
+    @Value("${groupservice.scheduler.cycle-advance.lease-seconds:120}")
+    private long leaseSeconds;
+
+    @Value("${groupservice.scheduler.cycle-advance.max-batches-per-run:500}")
+    private int maxBatchesPerRun;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newFixedThreadPool(partitions);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${groupservice.scheduler.cycle-advance.fixed-delay-ms:60000}")
+    public void advanceDueGroups() {
+        if (!enabled) {
+            return;
+        }
+
+        String leaseOwner = instanceId + ":" + runCounter.incrementAndGet();
+        long started = System.nanoTime();
+        int claimed = 0;
+        int advanced = 0;
+
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            LocalDateTime now = LocalDateTime.now();
+            List<SavingsGroup> groups = savingsGroupRepository.claimDueGroups(
+                    now, leaseOwner, now.plusSeconds(leaseSeconds), batchSize);
+            if (groups.isEmpty()) {
+                break;
+            }
+
+            claimed += groups.size();
+            advanced += processBatch(leaseOwner, groups);
+        }
+
+        if (claimed > 0) {
+            groupMetrics.cyclesAdvanced(advanced);
+            log.info("Cycle scheduler advanced {} of {} claimed groups in {} ms",
+                    advanced, claimed, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    private int processBatch(String leaseOwner, List<SavingsGroup> groups) {
+        // Partition by id so each partition plans and bulk-writes its own groups in parallel
+        List<List<SavingsGroup>> partitioned = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            partitioned.add(new ArrayList<>());
+        }
+        for (SavingsGroup group : groups) {
+            partitioned.get(Math.floorMod(group.getId().hashCode(), partitions)).add(group);
+        }
+
+        List<CompletableFuture<Integer>> results = partitioned.stream()
+                .filter(partition -> !partition.isEmpty())
+                .map(partition -> CompletableFuture.supplyAsync(() -> advancePartition(leaseOwner, partition), executor))
+                .toList();
+
+        return results.stream()
+                .mapToInt(CompletableFuture::join)
+                .sum();
+    }
+
+    private int advancePartition(String leaseOwner, List<SavingsGroup> groups) {
+        List<ClaimedGroupUpdate> updates = new ArrayList<>(groups.size());
+        externalMembershipStore.hydrateMembers(groups);
+        for (SavingsGroup group : groups) {
+            Update update = new Update();
+            try {
+                payoutRotationEngine.ensureSchedule(group, update);
+                payoutRotationEngine.advance(group, update);
+            } catch (IllegalStateException e) {
+                // Nothing to pay out: stop scheduling the group until an organizer intervenes
+                log.warn("Cannot advance group {}: {}", group.getId(), e.getMessage());
+                update = new Update().unset("nextCycleAt");
+            }
+            updates.add(new ClaimedGroupUpdate(group.getId(), group.getVersion(), update));
+        }
+
+        Set<String> applied = savingsGroupRepository.applyClaimedUpdates(leaseOwner, updates);
+        groups.forEach(group -> groupCache.evict(group.getId()));
+
+        // Groups whose update was skipped (lost lease or a concurrent change) are left to
+        // whichever owner advances them next, so only applied groups record the payout
+        // in group_memberships and get events
+        for (SavingsGroup group : groups) {
+            if (!applied.contains(group.getId())) {
+                continue;
+            }
+            if (group.hasExternalMembers() && group.isActive()) {
+                externalMembershipStore.saveReceivedCycles(group, group.getCurrentRecipientId());
+            }
+            group.setVersion(group.getVersion() == null ? 1L : group.getVersion() + 1);
+            GroupEvent.Type type = group.getStatus() == SavingsGroup.GroupStatus.COMPLETED
+                    ? GroupEvent.Type.GROUP_CLOSED
+                    : GroupEvent.Type.RECIPIENT_CHANGED;
+            groupEventBus.publish(GroupEvent.of(type, group, SCHEDULER_ACTOR, group.getCurrentRecipientId()), group, null);
+        }
+        return applied.size();
+    }
+}
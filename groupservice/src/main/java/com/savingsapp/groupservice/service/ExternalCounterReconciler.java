@@ -0,0 +1,105 @@
+package com.savingsapp.groupservice.service;
+
+import com.savingsapp.groupservice.model.SavingsGroup;
+import com.savingsapp.groupservice.repository.GroupMembershipRepository;
+import com.savingsapp.groupservice.repository.MembershipCounts;
+import com.savingsapp.groupservice.repository.SavingsGroupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Repairs memberCount/pendingCount of EXTERNAL groups from group_memberships. The counter and
+// the membership are separate writes, so a crash between a write and its compensation leaves
+// them apart. A mismatch is also normal while an operation is in flight, so a group is only
+// repaired once the same mismatch has been seen at the same version on two passes in a row,
+// and the repair is guarded by that version.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExternalCounterReconciler {
+
+    private final SavingsGroupRepository savingsGroupRepository;
+    private final GroupMembershipRepository groupMembershipRepository;
+    private final GroupCache groupCache;
+
+    @Value("${groupservice.members.reconcile.enabled:true}")
+    private boolean enabled;
+
+    @Value("${groupservice.members.reconcile.batch-size:500}")
+    private int batchSize;
+
+    // Mismatches seen on the previous pass, only touched by the scheduler thread
+    private Map<String, Mismatch> suspects = new HashMap<>();
+
+    @Scheduled(fixedDelayString = "${groupservice.members.reconcile.fixed-delay-ms:600000}",
+            initialDelayString = "${groupservice.members.reconcile.fixed-delay-ms:600000}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            int repaired = reconcileAll();
+            if (repaired > 0) {
+                log.info("Repaired membership counters of {} EXTERNAL groups", repaired);
+            }
+        } catch (DataAccessException e) {
+            log.error("Membership counter reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    int reconcileAll() {
+        Map<String, Mismatch> seen = new HashMap<>();
+        int repaired = 0;
+        String lastId = null;
+
+        List<SavingsGroup> groups;
+        do {
+            groups = savingsGroupRepository.findExternalCountersAfterId(lastId, batchSize);
+            if (groups.isEmpty()) {
+                break;
+            }
+            lastId = groups.get(groups.size() - 1).getId();
+
+            Map<String, MembershipCounts> counts = groupMembershipRepository
+                    .countByGroup(groups.stream().map(SavingsGroup::getId).toList()).stream()
+                    .collect(Collectors.toMap(MembershipCounts::groupId, Function.identity()));
+
+            for (SavingsGroup group : groups) {
+                MembershipCounts actual = counts.getOrDefault(group.getId(), new MembershipCounts(group.getId(), 0, 0));
+                if (actual.members() == group.getMemberCount() && actual.pending() == group.getPendingCount()) {
+                    continue;
+                }
+
+                Mismatch mismatch = new Mismatch(group.getVersion(), actual.members(), actual.pending());
+                if (!mismatch.equals(suspects.get(group.getId()))) {
+                    seen.put(group.getId(), mismatch);
+                    continue;
+                }
+
+                log.warn("Group {} counts {} members and {} pending, group_memberships has {} and {}",
+                        group.getId(), group.getMemberCount(), group.getPendingCount(), actual.members(), actual.pending());
+                if (savingsGroupRepository.setExternalCounters(group.getId(), group.getVersion(),
+                        actual.members(), actual.pending())) {
+                    groupCache.evict(group.getId());
+                    repaired++;
+                }
+            }
+        } while (groups.size() == batchSize);
+
+        suspects = seen;
+        return repaired;
+    }
+
+    private record Mismatch(Long version, int members, int pending) {
+    }
+}
@@ -0,0 +1,282 @@
+package com.savingsapp.groupservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.savingsapp.groupservice.model.GroupMember;
+import com.savingsapp.groupservice.model.GroupMembership;
+import com.savingsapp.groupservice.model.SavingsGroup;
+import com.savingsapp.groupservice.repository.GroupMembershipRepository;
+import com.savingsapp.groupservice.repository.SavingsGroupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Membership operations for groups with EXTERNAL member storage. Each membership is its own
+// document keyed by (groupId, userId) and the group only keeps memberCount/pendingCount, so a
+// join or approval touches one membership and one counter update instead of the whole array.
+// Without multi-document transactions the two writes are ordered so that a failed second step
+// can be compensated: counters are reserved first and released again if the membership write
+// does not go through. Like the embedded operations, each method returns the updated group or
+// an empty Optional when a guard failed.
+@Component
+@RequiredArgsConstructor
+public class ExternalMembershipStore {
+
+    private static final long KNOWN_EXTERNAL_MAX_SIZE = 100_000;
+
+    private final GroupMembershipRepository groupMembershipRepository;
+    private final SavingsGroupRepository savingsGroupRepository;
+
+    // Storage only ever moves from EMBEDDED to EXTERNAL, so a group seen as EXTERNAL stays so
+    // and its writes can skip the embedded attempt and the re-read that detects the storage
+    private final Cache<String, Boolean> knownExternal = Caffeine.newBuilder()
+            .maximumSize(KNOWN_EXTERNAL_MAX_SIZE)
+            .build();
+
+    // Groups created with at least this many member slots use EXTERNAL storage; 0 disables it
+    @Value("${groupservice.members.external-threshold:500}")
+    private int externalThreshold;
+
+    public boolean shouldStoreExternally(int maxMembers) {
+        return externalThreshold > 0 && maxMembers >= externalThreshold;
+    }
+
+    public int getExternalThreshold() {
+        return externalThreshold;
+    }
+
+    public boolean isKnownExternal(String groupId) {
+        return knownExternal.getIfPresent(groupId) != null;
+    }
+
+    public void remember(SavingsGroup group) {
+        if (group.hasExternalMembers()) {
+            knownExternal.put(group.getId(), Boolean.TRUE);
+        }
+    }
+
+    public boolean isMember(String groupId, String userId) {
+        return groupMembershipRepository.existsByIdAndState(GroupMembership.idOf(groupId, userId), GroupMembership.State.MEMBER);
+    }
+
+    // The subset of userIds that are members, in one query by _id
+    public Set<String> findMembers(String groupId, Collection<String> userIds) {
+        List<String> ids = userIds.stream()
+                .map(userId -> GroupMembership.idOf(groupId, userId))
+                .toList();
+        return groupMembershipRepository.findAllById(ids).stream()
+                .filter(membership -> membership.getState() == GroupMembership.State.MEMBER)
+                .map(GroupMembership::getUserId)
+                .collect(Collectors.toSet());
+    }
+
+    public boolean isPending(String groupId, String userId) {
+        return groupMembershipRepository.existsByIdAndState(GroupMembership.idOf(groupId, userId), GroupMembership.State.PENDING);
+    }
+
+    // Fills members (in join order) and pendingMemberIds from group_memberships
+    public SavingsGroup hydrate(SavingsGroup group) {
+        if (!group.hasExternalMembers()) {
+            return group;
+        }
+
+        group.setMembers(groupMembershipRepository
+                .findByGroupIdAndStateOrderByMemberJoinedAtAsc(group.getId(), GroupMembership.State.MEMBER).stream()
+                .map(GroupMembership::getMember)
+                .collect(Collectors.toCollection(ArrayList::new)));
+        group.setPendingMemberIds(groupMembershipRepository
+                .findByGroupIdAndState(group.getId(), GroupMembership.State.PENDING).stream()
+                .map(GroupMembership::getUserId)
+                .collect(Collectors.toCollection(ArrayList::new)));
+        return group;
+    }
+
+    // Fills members only, for every EXTERNAL group of a batch in one query
+    public void hydrateMembers(Collection<SavingsGroup> groups) {
+        List<String> groupIds = externalIds(groups);
+        if (groupIds.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<GroupMember>> membersByGroup = groupMembershipRepository
+                .findByGroupIdInAndState(groupIds, GroupMembership.State.MEMBER).stream()
+                .collect(Collectors.groupingBy(GroupMembership::getGroupId,
+                        Collectors.mapping(GroupMembership::getMember, Collectors.toCollection(ArrayList::new))));
+
+        for (SavingsGroup group : groups) {
+            if (group.hasExternalMembers()) {
+                List<GroupMember> members = membersByGroup.getOrDefault(group.getId(), new ArrayList<>());
+                members.sort(Comparator.comparing(GroupMember::getJoinedAt,
+                        Comparator.nullsFirst(Comparator.naturalOrder())));
+                group.setMembers(members);
+            }
+        }
+    }
+
+    // Fills members and pendingMemberIds for every EXTERNAL group of a batch, one query each
+    public void hydrateAll(Collection<SavingsGroup> groups) {
+        List<String> groupIds = externalIds(groups);
+        if (groupIds.isEmpty()) {
+            return;
+        }
+
+        hydrateMembers(groups);
+        Map<String, List<String>> pendingByGroup = groupMembershipRepository
+                .findByGroupIdInAndState(groupIds, GroupMembership.State.PENDING).stream()
+                .collect(Collectors.groupingBy(GroupMembership::getGroupId,
+                        Collectors.mapping(GroupMembership::getUserId, Collectors.toCollection(ArrayList::new))));
+
+        for (SavingsGroup group : groups) {
+            if (group.hasExternalMembers()) {
+                group.setPendingMemberIds(pendingByGroup.getOrDefault(group.getId(), new ArrayList<>()));
+            }
+        }
+    }
+
+    // The subset of userIds with a membership in the group, members and pending alike, in one
+    // query by _id; never reads the group's whole membership list
+    public Set<String> findParticipants(String groupId, Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return Set.of();
+        }
+        List<String> ids = userIds.stream()
+                .map(userId -> GroupMembership.idOf(groupId, userId))
+                .toList();
+        return groupMembershipRepository.findAllById(ids).stream()
+                .map(GroupMembership::getUserId)
+                .collect(Collectors.toSet());
+    }
+
+    private static List<String> externalIds(Collection<SavingsGroup> groups) {
+        return groups.stream()
+                .filter(SavingsGroup::hasExternalMembers)
+                .map(SavingsGroup::getId)
+                .toList();
+    }
+
+    public void create(SavingsGroup group, GroupMember organizer) {
+        groupMembershipRepository.replaceAll(group.getId(), List.of(organizer), List.of());
+        remember(group);
+    }
+
+    public Optional<SavingsGroup> requestJoin(String groupId, String userId) {
+        if (!groupMembershipRepository.insertPending(groupId, userId)) {
+            return Optional.empty();
+        }
+
+        Optional<SavingsGroup> updatedGroup = savingsGroupRepository.addExternalPending(groupId);
+        if (updatedGroup.isEmpty()) {
+            groupMembershipRepository.removePending(groupId, userId);
+        }
+        return updatedGroup;
+    }
+
+    public Optional<SavingsGroup> approve(String groupId, String organizerId, GroupMember member) {
+        Optional<SavingsGroup> updatedGroup = savingsGroupRepository.reserveExternalMembers(groupId, organizerId, 1, 1);
+        if (updatedGroup.isPresent() && !groupMembershipRepository.promote(groupId, member)) {
+            savingsGroupRepository.adjustExternalCounters(groupId, -1, 1);
+            return Optional.empty();
+        }
+        return updatedGroup;
+    }
+
+    public Optional<SavingsGroup> reject(String groupId, String organizerId, String userId) {
+        Optional<SavingsGroup> updatedGroup = savingsGroupRepository.reserveExternalMembers(groupId, organizerId, 0, 1);
+        if (updatedGroup.isPresent() && !groupMembershipRepository.removePending(groupId, userId)) {
+            savingsGroupRepository.adjustExternalCounters(groupId, 0, 1);
+            return Optional.empty();
+        }
+        return updatedGroup;
+    }
+
+    // All-or-nothing like resolvePendingMembers: if any membership was resolved by someone
+    // else in the meantime, the applied part is undone and the caller re-plans
+    public Optional<SavingsGroup> resolve(String groupId, String organizerId,
+                                          List<String> resolvedUserIds, List<GroupMember> approvedMembers) {
+        Optional<SavingsGroup> updatedGroup = savingsGroupRepository.reserveExternalMembers(
+                groupId, organizerId, approvedMembers.size(), resolvedUserIds.size());
+        if (updatedGroup.isEmpty()) {
+            return updatedGroup;
+        }
+
+        Set<String> approvedUserIds = new HashSet<>();
+        List<GroupMember> promoted = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        boolean complete = true;
+
+        for (GroupMember member : approvedMembers) {
+            approvedUserIds.add(member.getUserId());
+            if (!groupMembershipRepository.promote(groupId, member)) {
+                complete = false;
+                break;
+            }
+            promoted.add(member);
+        }
+        if (complete) {
+            for (String userId : resolvedUserIds) {
+                if (approvedUserIds.contains(userId)) {
+                    continue;
+                }
+                if (!groupMembershipRepository.removePending(groupId, userId)) {
+                    complete = false;
+                    break;
+                }
+                removed.add(userId);
+            }
+        }
+
+        if (complete) {
+            return updatedGroup;
+        }
+
+        promoted.forEach(member -> groupMembershipRepository.demote(groupId, member.getUserId()));
+        removed.forEach(userId -> groupMembershipRepository.insertPending(groupId, userId));
+        savingsGroupRepository.adjustExternalCounters(groupId, -approvedMembers.size(), resolvedUserIds.size());
+        return Optional.empty();
+    }
+
+    public Optional<SavingsGroup> setPriority(String groupId, String organizerId, String userId, int priority) {
+        Optional<SavingsGroup> updatedGroup = savingsGroupRepository.touchExternal(groupId, organizerId);
+        if (updatedGroup.isPresent() && !groupMembershipRepository.setPriority(groupId, userId, priority)) {
+            return Optional.empty();
+        }
+        return updatedGroup;
+    }
+
+    // Persists the bitset of the member who was just paid; the group document holds the
+    // rotation state, so a lost write here only affects the per-member history
+    public void saveReceivedCycles(SavingsGroup group, String recipientId) {
+        GroupMember recipient = recipientId == null ? null : group.getMember(recipientId);
+        if (recipient != null) {
+            groupMembershipRepository.saveReceivedCycles(group.getId(), List.of(recipient));
+        }
+    }
+
+    public void deleteAll(String groupId) {
+        groupMembershipRepository.deleteByGroupId(groupId);
+        knownExternal.invalidate(groupId);
+    }
+
+    // Copies the embedded arrays into group_memberships, then switches the group over if it
+    // has not changed since it was read. Leftover memberships of a group that is still
+    // EMBEDDED are ignored and replaced by the next attempt.
+    public boolean moveToExternal(SavingsGroup group) {
+        groupMembershipRepository.replaceAll(group.getId(), group.getMembers(), group.getPendingMemberIds());
+        boolean moved = savingsGroupRepository.moveToExternalMembers(group.getId(), group.getVersion(),
+                group.getMembers().size(), group.getPendingMemberIds().size()).isPresent();
+        if (moved) {
+            knownExternal.put(group.getId(), Boolean.TRUE);
+        }
+        return moved;
+    }
+}
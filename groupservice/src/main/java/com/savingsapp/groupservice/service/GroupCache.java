@@ -0,0 +1,60 @@
+package com.savingsapp.groupservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.savingsapp.groupservice.dto.GroupResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+@Component
+public class GroupCache {
+
+    private final Cache<String, GroupResponse> cache;
+
+    public GroupCache(@Value("${groupservice.cache.groups.max-size:10000}") long maxSize,
+                      @Value("${groupservice.cache.groups.ttl-seconds:30}") long ttlSeconds) {
+        // The TTL bounds staleness for writes made by other service instances
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    // Concurrent misses for the same id wait on a single load; a null result is not cached
+    public GroupResponse get(String groupId, Function<String, GroupResponse> loader) {
+        return cache.get(groupId, loader);
+    }
+
+    public GroupResponse getIfPresent(String groupId) {
+        return cache.getIfPresent(groupId);
+    }
+
+    public void evict(String groupId) {
+        cache.invalidate(groupId);
+    }
+
+    public Cache<String, GroupResponse> getNativeCache() {
+        return cache;
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRatio", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        result.put("loadCount", stats.loadCount());
+        result.put("loadFailureCount", stats.loadFailureCount());
+        result.put("averageLoadMillis", stats.averageLoadPenalty() / 1_000_000.0);
+        return result;
+    }
+}
@@ -0,0 +1,49 @@
+package com.savingsapp.groupservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+public class GroupMetrics {
+
+    public enum Rejection {
+        NOT_ORGANIZER,
+        GROUP_FULL,
+        GROUP_NOT_OPEN,
+        ALREADY_MEMBER,
+        ALREADY_PENDING,
+        NOT_PENDING,
+        NOT_MEMBER,
+        INVALID_STATE,
+        CONFLICT
+    }
+
+    private final Map<Rejection, Counter> rejections = new EnumMap<>(Rejection.class);
+    private final Counter cyclesAdvanced;
+
+    public GroupMetrics(MeterRegistry registry) {
+        // Counters are registered up front so every reason shows up as 0 before it first happens
+        for (Rejection reason : Rejection.values()) {
+            rejections.put(reason, Counter.builder("groups.rejections")
+                    .description("Group operations rejected by a business rule")
+                    .tag("reason", reason.name().toLowerCase())
+                    .register(registry));
+        }
+
+        cyclesAdvanced = Counter.builder("groups.cycles.advanced")
+                .description("Group cycles advanced by the scheduler")
+                .register(registry);
+    }
+
+    public void rejected(Rejection reason) {
+        rejections.get(reason).increment();
+    }
+
+    public void cyclesAdvanced(int count) {
+        cyclesAdvanced.increment(count);
+    }
+}
@@ -0,0 +1,187 @@
+package com.savingsapp.groupservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.savingsapp.groupservice.exception.RequestInProgressException;
+import com.savingsapp.groupservice.model.IdempotencyRecord;
+import com.savingsapp.groupservice.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Runs a request at most once per Idempotency-Key. Finished responses are kept in a small
+// in-memory cache backed by idempotency_keys (shared by all instances, expired by a TTL
+// index). Duplicates that arrive while the first request is still running on this instance
+// wait for its result; on another instance they get a 409 and can retry.
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, StoredResponse> completed;
+    private final ConcurrentHashMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final long waitMillis;
+    private final Duration claimLease;
+    private final LongAdder replays = new LongAdder();
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              ObjectMapper objectMapper,
+                              @Value("${groupservice.idempotency.cache.max-size:10000}") long maxSize,
+                              @Value("${groupservice.idempotency.cache.ttl-seconds:600}") long ttlSeconds,
+                              @Value("${groupservice.idempotency.wait-ms:10000}") long waitMillis,
+                              @Value("${groupservice.idempotency.claim-lease-seconds:60}") long claimLeaseSeconds) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.waitMillis = waitMillis;
+        this.claimLease = Duration.ofSeconds(claimLeaseSeconds);
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    // request identifies what the key was used for; reusing a key for a different request is rejected
+    public ResponseEntity<?> execute(String key, String userId, String operation, Object request,
+                                     Supplier<ResponseEntity<?>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String id = IdempotencyRecord.idOf(userId, operation, key);
+        String fingerprint = fingerprint(request);
+
+        StoredResponse stored = completed.getIfPresent(id);
+        if (stored != null) {
+            return replay(stored, fingerprint);
+        }
+
+        CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(id, mine);
+        if (running != null) {
+            return replay(await(running), fingerprint);
+        }
+
+        try {
+            Optional<IdempotencyRecord> existing = idempotencyRecordRepository.claimOrGet(
+                    id, fingerprint, LocalDateTime.now().minus(claimLease));
+            if (existing.isPresent()) {
+                StoredResponse response = fromRecord(existing.get());
+                completed.put(id, response);
+                mine.complete(response);
+                return replay(response, fingerprint);
+            }
+
+            ResponseEntity<?> result;
+            try {
+                result = action.get();
+            } catch (RuntimeException e) {
+                // Failed requests are not recorded, so the client can retry with the same key
+                idempotencyRecordRepository.release(id);
+                throw e;
+            }
+
+            StoredResponse response = new StoredResponse(fingerprint, result.getStatusCode().value(), toJson(result.getBody()));
+            try {
+                idempotencyRecordRepository.complete(id, fingerprint, response.status(), response.body());
+            } catch (DataAccessException e) {
+                // The request itself succeeded; only retries on other instances lose the replay
+                log.warn("Could not store idempotent response for {}: {}", operation, e.getMessage());
+            }
+            completed.put(id, response);
+            mine.complete(response);
+            return result;
+        } catch (RuntimeException e) {
+            // Waiting duplicates fail the same way as the request they waited for
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, mine);
+        }
+    }
+
+    public long getReplays() {
+        return replays.sum();
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new RequestInProgressException("A request with this Idempotency-Key is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RequestInProgressException("A request with this Idempotency-Key is still being processed");
+        }
+    }
+
+    private static StoredResponse fromRecord(IdempotencyRecord record) {
+        if (record.getState() != IdempotencyRecord.State.COMPLETED) {
+            throw new RequestInProgressException("A request with this Idempotency-Key is still being processed");
+        }
+        return new StoredResponse(record.getFingerprint(), record.getStatus(), record.getBody());
+    }
+
+    private ResponseEntity<?> replay(StoredResponse stored, String fingerprint) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw new IllegalArgumentException("Idempotency-Key was already used for a different request");
+        }
+        replays.increment();
+        return ResponseEntity.status(stored.status())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(REPLAYED_HEADER, "true")
+                .body(stored.body());
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint request", e);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store response", e);
+        }
+    }
+
+    private record StoredResponse(String fingerprint, int status, String body) {
+    }
+}
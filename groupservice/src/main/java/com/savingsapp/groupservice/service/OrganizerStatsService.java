@@ -0,0 +1,51 @@
+package com.savingsapp.groupservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.savingsapp.groupservice.dto.OrganizerStats;
+import com.savingsapp.groupservice.repository.SavingsGroupRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+// Dashboard figures are computed by Mongo in one aggregation. Results are cached briefly
+// because a dashboard polls them; group changes are not evicted and show up after the TTL.
+@Service
+public class OrganizerStatsService {
+
+    private final SavingsGroupRepository savingsGroupRepository;
+    private final Cache<String, OrganizerStats> cache;
+    private final int upcomingPayoutLimit;
+
+    public OrganizerStatsService(SavingsGroupRepository savingsGroupRepository,
+                                 @Value("${groupservice.cache.organizer-stats.max-size:1000}") long maxSize,
+                                 @Value("${groupservice.cache.organizer-stats.ttl-seconds:10}") long ttlSeconds,
+                                 @Value("${groupservice.stats.upcoming-payouts:10}") int upcomingPayoutLimit) {
+        this.savingsGroupRepository = savingsGroupRepository;
+        this.upcomingPayoutLimit = upcomingPayoutLimit;
+        // A TTL of 0 turns the cache off
+        this.cache = ttlSeconds > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                        .recordStats()
+                        .build()
+                : null;
+    }
+
+    public OrganizerStats getOrganizerStats(String organizerId) {
+        if (cache == null) {
+            return load(organizerId);
+        }
+        return cache.get(organizerId, this::load);
+    }
+
+    public Cache<String, OrganizerStats> getNativeCache() {
+        return cache;
+    }
+
+    private OrganizerStats load(String organizerId) {
+        return savingsGroupRepository.findOrganizerStats(organizerId, upcomingPayoutLimit);
+    }
+}
@@ -0,0 +1,56 @@
+package com.savingsapp.groupservice.service;
+
+import com.savingsapp.groupservice.dto.GroupResponse;
+import com.savingsapp.groupservice.exception.ResourceNotFoundException;
+import com.savingsapp.groupservice.model.SavingsGroup;
+import com.savingsapp.groupservice.repository.ReactiveSavingsGroupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Service
+@RequiredArgsConstructor
+public class ReactiveGroupQueryService {
+
+    private final ReactiveSavingsGroupRepository reactiveSavingsGroupRepository;
+    private final GroupCache groupCache;
+    private final ExternalMembershipStore externalMembershipStore;
+
+    public Flux<GroupResponse> getAllGroups() {
+        return reactiveSavingsGroupRepository.findAll()
+                .concatMap(this::hydrate)
+                .map(GroupResponse::fromEntity);
+    }
+
+    public Mono<GroupResponse> getGroupById(String groupId) {
+        // Served from the shared near-cache when possible; misses are not written back
+        // here so a slow subscriber never holds a cache load open
+        GroupResponse cached = groupCache.getIfPresent(groupId);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        return reactiveSavingsGroupRepository.findById(groupId)
+                .flatMap(this::hydrate)
+                .map(GroupResponse::fromEntity)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Group not found with id: " + groupId)));
+    }
+
+    public Flux<GroupResponse> getOrganizerGroups(String organizerId) {
+        return reactiveSavingsGroupRepository.findByOrganizerId(organizerId)
+                .concatMap(this::hydrate)
+                .map(GroupResponse::fromEntity);
+    }
+
+    // Membership of EXTERNAL groups lives in group_memberships, which is only reachable through
+    // the blocking store, so those groups are hydrated off the event loop
+    private Mono<SavingsGroup> hydrate(SavingsGroup group) {
+        if (!group.hasExternalMembers()) {
+            return Mono.just(group);
+        }
+        return Mono.fromCallable(() -> externalMembershipStore.hydrate(group))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
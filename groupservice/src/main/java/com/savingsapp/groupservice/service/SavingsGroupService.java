@@ -1,19 +1,45 @@
 package com.savingsapp.groupservice.service;
 
+import com.savingsapp.groupservice.audit.AuditLog;
+import com.savingsapp.groupservice.audit.AuditRecord;
+import com.savingsapp.groupservice.dto.BatchJoinDecisionResponse;
 import com.savingsapp.groupservice.dto.CreateGroupRequest;
+import com.savingsapp.groupservice.dto.GroupFieldSet;
+import com.savingsapp.groupservice.dto.GroupPage;
 import com.savingsapp.groupservice.dto.GroupResponse;
+import com.savingsapp.groupservice.dto.GroupSearchCriteria;
+import com.savingsapp.groupservice.dto.GroupSummary;
+import com.savingsapp.groupservice.dto.JoinDecision;
+import com.savingsapp.groupservice.dto.JoinDecisionResult;
+import com.savingsapp.groupservice.dto.MyGroupsResponse;
 import com.savingsapp.groupservice.dto.UpdateGroupRequest;
+import com.savingsapp.groupservice.dto.UserGroupEntry;
 import com.savingsapp.groupservice.exception.ResourceNotFoundException;
 import com.savingsapp.groupservice.exception.UnauthorizedException;
 import com.savingsapp.groupservice.model.GroupMember;
 import com.savingsapp.groupservice.model.SavingsGroup;
+import com.savingsapp.groupservice.model.UserGroupIndexEntry;
 import com.savingsapp.groupservice.repository.SavingsGroupRepository;
+import com.savingsapp.groupservice.repository.UserGroupIndexRepository;
+import com.savingsapp.groupservice.service.events.GroupEvent;
+import com.savingsapp.groupservice.service.events.GroupEventBus;
+import com.savingsapp.groupservice.service.rotation.PayoutRotationEngine;
+import com.savingsapp.groupservice.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,11 +47,26 @@ import java.util.stream.Collectors;
 @Slf4j
 public class SavingsGroupService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
+
     private final SavingsGroupRepository savingsGroupRepository;
+    private final GroupCache groupCache;
+    private final PayoutRotationEngine payoutRotationEngine;
+    private final GroupMetrics groupMetrics;
+    private final GroupEventBus groupEventBus;
+    private final AuditLog auditLog;
+    private final ExternalMembershipStore externalMembershipStore;
+    private final UserGroupIndexRepository userGroupIndexRepository;
+
+    @Value("${groupservice.cache.groups.strict-etag:false}")
+    private boolean strictETag;
 
     public GroupResponse createGroup(CreateGroupRequest request, String organizerId) {
         SavingsGroup group = SavingsGroup.builder()
                 .name(request.getName())
+                .nameKey(SavingsGroup.nameKeyOf(request.getName()))
                 .description(request.getDescription())
                 .organizerId(organizerId)
                 .contributionAmount(request.getContributionAmount())
@@ -37,6 +78,10 @@ public class SavingsGroupService {
                 .status(SavingsGroup.GroupStatus.OPEN)
                 .currentCycle(0)
                 .totalCycles(request.getMaxMembers())
+                .rotationStrategy(request.getRotationStrategy() != null
+                        ? request.getRotationStrategy()
+                        : SavingsGroup.RotationStrategy.JOIN_ORDER)
+                .rotationSeed(request.getRotationSeed())
                 .build();
 
         // Add organizer as the first member
@@ -46,167 +91,510 @@ public class SavingsGroupService {
                 .status(GroupMember.MemberStatus.ACTIVE)
                 .build();
 
-        group.getMembers().add(organizer);
+        // Large groups keep their members in group_memberships from the start
+        if (externalMembershipStore.shouldStoreExternally(group.getMaxMembers())) {
+            group.setMemberStorage(SavingsGroup.MemberStorage.EXTERNAL);
+            group.setMemberCount(1);
+        } else {
+            group.getMembers().add(organizer);
+        }
 
         SavingsGroup savedGroup = savingsGroupRepository.save(group);
+        if (savedGroup.hasExternalMembers()) {
+            externalMembershipStore.create(savedGroup, organizer);
+        }
+        publish(savedGroup, GroupEvent.Type.GROUP_CREATED, organizerId, null);
         return GroupResponse.fromEntity(savedGroup);
     }
 
     public List<GroupResponse> getAllGroups() {
-        return savingsGroupRepository.findAll().stream()
+        List<SavingsGroup> groups = savingsGroupRepository.findAll();
+        externalMembershipStore.hydrateAll(groups);
+        return groups.stream()
                 .map(GroupResponse::fromEntity)
                 .collect(Collectors.toList());
     }
 
+    public GroupPage<GroupResponse> getGroupsPage(String cursor, int size) {
+        return getGroupsPage(cursor, size, GroupFieldSet.ALL);
+    }
+
+    public GroupPage<GroupResponse> getGroupsPage(String cursor, int size, GroupFieldSet fieldSet) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        String lastId = PageCursor.decode(cursor);
+
+        // Fetch one extra document to know whether another page exists
+        List<SavingsGroup> groups = savingsGroupRepository.findPageAfterId(lastId, pageSize + 1,
+                fieldSet.isAll() ? null : fieldSet.getProjection());
+        boolean hasMore = groups.size() > pageSize;
+        if (hasMore) {
+            groups = groups.subList(0, pageSize);
+        }
+        if (fieldSet.includesMembership()) {
+            externalMembershipStore.hydrateAll(groups);
+        }
+
+        String nextCursor = hasMore ? PageCursor.encode(groups.get(groups.size() - 1).getId()) : null;
+
+        return GroupPage.<GroupResponse>builder()
+                .items(groups.stream().map(GroupResponse::fromEntity).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    public GroupPage<GroupSummary> getGroupSummariesPage(String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        String lastId = PageCursor.decode(cursor);
+
+        return summaryPage(savingsGroupRepository.findSummariesAfterId(lastId, pageSize + 1), pageSize);
+    }
+
+    public GroupPage<GroupSummary> searchGroups(GroupSearchCriteria criteria, String cursor, int size) {
+        if (criteria.getMinContribution() != null && criteria.getMaxContribution() != null
+                && criteria.getMinContribution().compareTo(criteria.getMaxContribution()) > 0) {
+            throw new IllegalArgumentException("minContribution must not be greater than maxContribution");
+        }
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        String lastId = PageCursor.decode(cursor);
+
+        return summaryPage(savingsGroupRepository.searchSummaries(criteria, lastId, pageSize + 1), pageSize);
+    }
+
+    // Summaries are fetched with one extra item to know whether another page exists
+    private static GroupPage<GroupSummary> summaryPage(List<GroupSummary> summaries, int pageSize) {
+        boolean hasMore = summaries.size() > pageSize;
+        if (hasMore) {
+            summaries = summaries.subList(0, pageSize);
+        }
+
+        String nextCursor = hasMore ? PageCursor.encode(summaries.get(summaries.size() - 1).getId()) : null;
+
+        return GroupPage.<GroupSummary>builder()
+                .items(summaries)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    public void streamAllGroups(Consumer<GroupResponse> consumer) {
+        // Buffered per cursor batch so EXTERNAL groups are hydrated with one query per batch
+        List<SavingsGroup> batch = new ArrayList<>(STREAM_BATCH_SIZE);
+        savingsGroupRepository.streamAll(STREAM_BATCH_SIZE, group -> {
+            batch.add(group);
+            if (batch.size() == STREAM_BATCH_SIZE) {
+                emitHydrated(batch, consumer);
+            }
+        });
+        emitHydrated(batch, consumer);
+    }
+
+    private void emitHydrated(List<SavingsGroup> batch, Consumer<GroupResponse> consumer) {
+        externalMembershipStore.hydrateAll(batch);
+        batch.forEach(group -> consumer.accept(GroupResponse.fromEntity(group)));
+        batch.clear();
+    }
+
     public GroupResponse getGroupById(String groupId) {
-        SavingsGroup group = savingsGroupRepository.findById(groupId)
-                .orElseThrow(() -> new ResourceNotFoundException("Group not found with id: " + groupId));
+        GroupResponse group = groupCache.get(groupId, id -> savingsGroupRepository.findById(id)
+                .map(externalMembershipStore::hydrate)
+                .map(GroupResponse::fromEntity)
+                .orElse(null));
 
-        return GroupResponse.fromEntity(group);
+        if (group == null) {
+            throw new ResourceNotFoundException("Group not found with id: " + groupId);
+        }
+        return group;
     }
 
-    public GroupResponse updateGroup(String groupId, UpdateGroupRequest request, String organizerId) {
-        SavingsGroup group = savingsGroupRepository.findById(groupId)
+    // Version behind the ETag of a single-group read. A cached group answers without a Mongo
+    // round trip, so a write made through another instance only shows once the cache entry
+    // expires (groupservice.cache.groups.ttl-seconds); writes through this instance evict it
+    // at once. With groupservice.cache.groups.strict-etag the version is read from Mongo instead.
+    public long getETagVersion(String groupId) {
+        if (!strictETag) {
+            GroupResponse cached = groupCache.getIfPresent(groupId);
+            if (cached != null) {
+                return cached.getVersion();
+            }
+        }
+        return getGroupVersion(groupId);
+    }
+
+    // Projection-only lookup used to answer conditional GETs without loading the group
+    public long getGroupVersion(String groupId) {
+        return savingsGroupRepository.findVersionById(groupId)
                 .orElseThrow(() -> new ResourceNotFoundException("Group not found with id: " + groupId));
+    }
 
-        // Check if user is the organizer
-        if (!group.getOrganizerId().equals(organizerId)) {
-            throw new UnauthorizedException("Only the organizer can update this group");
+    public GroupResponse getGroupById(String groupId, long currentVersion) {
+        // Another instance may have changed the group since it was cached here
+        GroupResponse cached = groupCache.getIfPresent(groupId);
+        if (cached != null && cached.getVersion() < currentVersion) {
+            groupCache.evict(groupId);
         }
+        return getGroupById(groupId);
+    }
 
-        // Don't allow updates if group is active or completed
-        if (group.getStatus() == SavingsGroup.GroupStatus.ACTIVE ||
-                group.getStatus() == SavingsGroup.GroupStatus.COMPLETED) {
-            throw new IllegalStateException("Cannot update an active or completed group");
+    public GroupResponse getGroupById(String groupId, long currentVersion, GroupFieldSet fieldSet) {
+        if (fieldSet.isAll()) {
+            return getGroupById(groupId, currentVersion);
         }
 
+        // A cached full response can be filtered down; otherwise read only the requested fields.
+        // Partial responses are never cached.
+        GroupResponse cached = groupCache.getIfPresent(groupId);
+        if (cached != null && cached.getVersion() >= currentVersion) {
+            return cached;
+        }
+        return savingsGroupRepository.findByIdWithFields(groupId, fieldSet.getProjection())
+                .map(group -> fieldSet.includesMembership() ? externalMembershipStore.hydrate(group) : group)
+                .map(GroupResponse::fromEntity)
+                .orElseThrow(() -> new ResourceNotFoundException("Group not found with id: " + groupId));
+    }
+
+    public Map<String, Object> getGroupCacheStats() {
+        return groupCache.stats();
+    }
+
+    public GroupResponse updateGroup(String groupId, UpdateGroupRequest request, String organizerId) {
+        Update update = new Update();
+
         if (request.getName() != null) {
-            group.setName(request.getName());
+            update.set("name", request.getName());
+            update.set("nameKey", SavingsGroup.nameKeyOf(request.getName()));
         }
 
         if (request.getDescription() != null) {
-            group.setDescription(request.getDescription());
+            update.set("description", request.getDescription());
         }
 
         if (request.getContributionAmount() != null) {
-            group.setContributionAmount(request.getContributionAmount());
+            update.set("contributionAmount", request.getContributionAmount());
         }
 
         if (request.getCurrency() != null) {
-            group.setCurrency(request.getCurrency());
+            update.set("currency", request.getCurrency());
         }
 
         if (request.getCycleDurationInMonths() != null) {
-            group.setCycleDurationInMonths(request.getCycleDurationInMonths());
+            update.set("cycleDurationInMonths", request.getCycleDurationInMonths());
         }
 
         if (request.getStartDate() != null) {
-            group.setStartDate(request.getStartDate());
+            update.set("startDate", request.getStartDate());
+        }
+
+        if (request.getRotationStrategy() != null) {
+            update.set("rotationStrategy", request.getRotationStrategy());
+        }
+
+        if (request.getRotationSeed() != null) {
+            update.set("rotationSeed", request.getRotationSeed());
         }
 
-        SavingsGroup updatedGroup = savingsGroupRepository.save(group);
-        return GroupResponse.fromEntity(updatedGroup);
+        SavingsGroup updatedGroup = savingsGroupRepository.updateDetails(groupId, organizerId, update)
+                .orElseThrow(() -> {
+                    SavingsGroup group = findGroup(groupId);
+                    validateUpdate(group, organizerId);
+                    return conflict(groupId);
+                });
+        return changed(updatedGroup, GroupEvent.Type.GROUP_UPDATED, organizerId, null);
     }
 
     public void deleteGroup(String groupId, String organizerId) {
-        SavingsGroup group = savingsGroupRepository.findById(groupId)
-                .orElseThrow(() -> new ResourceNotFoundException("Group not found with id: " + groupId));
+        SavingsGroup group = findGroup(groupId);
 
         // Check if user is the organizer
         if (!group.getOrganizerId().equals(organizerId)) {
-            throw new UnauthorizedException("Only the organizer can delete this group");
+            throw rejected(GroupMetrics.Rejection.NOT_ORGANIZER, new UnauthorizedException("Only the organizer can delete this group"));
         }
 
         // Don't allow deletion if group is active
         if (group.getStatus() == SavingsGroup.GroupStatus.ACTIVE) {
-            throw new IllegalStateException("Cannot delete an active group");
+            throw rejected(GroupMetrics.Rejection.INVALID_STATE, new IllegalStateException("Cannot delete an active group"));
         }
 
         savingsGroupRepository.delete(group);
+        if (group.hasExternalMembers()) {
+            externalMembershipStore.deleteAll(groupId);
+        }
+        groupCache.evict(groupId);
+        publish(group, GroupEvent.Type.GROUP_DELETED, organizerId, null);
     }
 
     public GroupResponse joinGroup(String groupId, String userId, String userName) {
-        SavingsGroup group = savingsGroupRepository.findById(groupId)
-                .orElseThrow(() -> new ResourceNotFoundException("Group not found with id: " + groupId));
+        for (int attempt = 1; attempt <= MAX_UPDATE_ATTEMPTS; attempt++) {
+            boolean external = externalMembershipStore.isKnownExternal(groupId);
+            Optional<SavingsGroup> updatedGroup = external
+                    ? externalMembershipStore.requestJoin(groupId, userId)
+                    : savingsGroupRepository.addPendingMember(groupId, userId);
+            if (updatedGroup.isPresent()) {
+                return changed(updatedGroup.get(), GroupEvent.Type.JOIN_REQUESTED, userId, userId);
+            }
 
-        // Check if group is open for joining
-        if (!group.isOpen()) {
-            throw new IllegalStateException("Group is not accepting new members");
+            // The guarded update matched nothing: either the group keeps its members externally,
+            // or re-read to report which rule failed, or retry if the join is valid again
+            SavingsGroup group = findGroup(groupId);
+            if (group.hasExternalMembers() && !external) {
+                updatedGroup = externalMembershipStore.requestJoin(groupId, userId);
+                if (updatedGroup.isPresent()) {
+                    return changed(updatedGroup.get(), GroupEvent.Type.JOIN_REQUESTED, userId, userId);
+                }
+            }
+            validateJoin(group, userId);
         }
+        throw conflict(groupId);
+    }
 
-        // Check if group is full
-        if (group.isFull()) {
-            throw new IllegalStateException("Group is already full");
-        }
+    public GroupResponse respondToJoinRequest(String groupId, String userId, boolean approved, String organizerId) {
+        for (int attempt = 1; attempt <= MAX_UPDATE_ATTEMPTS; attempt++) {
+            Optional<SavingsGroup> updatedGroup;
+            GroupMember newMember = GroupMember.builder()
+                    .userId(userId)
+                    .joinedAt(LocalDateTime.now())
+                    .status(GroupMember.MemberStatus.ACTIVE)
+                    .build();
 
-        // Check if user is already a member
-        if (group.hasMember(userId)) {
-            throw new IllegalStateException("User is already a member of this group");
+            boolean external = externalMembershipStore.isKnownExternal(groupId);
+            if (external) {
+                updatedGroup = approved
+                        ? externalMembershipStore.approve(groupId, organizerId, newMember)
+                        : externalMembershipStore.reject(groupId, organizerId, userId);
+            } else if (approved) {
+                updatedGroup = savingsGroupRepository.approvePendingMember(groupId, organizerId, newMember);
+            } else {
+                updatedGroup = savingsGroupRepository.rejectPendingMember(groupId, organizerId, userId);
+            }
+
+            SavingsGroup group = null;
+            if (updatedGroup.isEmpty()) {
+                group = findGroup(groupId);
+                if (group.hasExternalMembers() && !external) {
+                    updatedGroup = approved
+                            ? externalMembershipStore.approve(groupId, organizerId, newMember)
+                            : externalMembershipStore.reject(groupId, organizerId, userId);
+                }
+            }
+
+            if (updatedGroup.isPresent()) {
+                return changed(updatedGroup.get(),
+                        approved ? GroupEvent.Type.MEMBER_APPROVED : GroupEvent.Type.MEMBER_REJECTED, organizerId, userId);
+            }
+
+            validateJoinResponse(group, userId, approved, organizerId);
         }
+        throw conflict(groupId);
+    }
 
-        // Check if user already has a pending request
-        if (group.hasPendingMember(userId)) {
-            throw new IllegalStateException("User already has a pending request to join this group");
+    public BatchJoinDecisionResponse respondToJoinRequests(String groupId, List<JoinDecision> decisions, String organizerId) {
+        for (int attempt = 1; attempt <= MAX_UPDATE_ATTEMPTS; attempt++) {
+            SavingsGroup group = findGroup(groupId);
+
+            // Check if user is the organizer
+            if (!group.getOrganizerId().equals(organizerId)) {
+                throw rejected(GroupMetrics.Rejection.NOT_ORGANIZER, new UnauthorizedException("Only the organizer can respond to join requests"));
+            }
+
+            // Decisions are applied in request order until the free slots run out
+            int freeSlots = group.getMaxMembers() - group.getMemberTotal();
+            LocalDateTime now = LocalDateTime.now();
+            List<String> resolvedUserIds = new ArrayList<>();
+            List<GroupMember> approvedMembers = new ArrayList<>();
+            List<JoinDecisionResult> results = new ArrayList<>(decisions.size());
+            Set<String> seen = new HashSet<>();
+
+            for (JoinDecision decision : decisions) {
+                String userId = decision.getUserId();
+                JoinDecisionResult.Outcome outcome;
+
+                if (!seen.add(userId)) {
+                    outcome = JoinDecisionResult.Outcome.DUPLICATE;
+                } else if (!isPending(group, userId)) {
+                    outcome = JoinDecisionResult.Outcome.NOT_PENDING;
+                } else if (!decision.getApproved()) {
+                    resolvedUserIds.add(userId);
+                    outcome = JoinDecisionResult.Outcome.REJECTED;
+                } else if (freeSlots <= 0) {
+                    groupMetrics.rejected(GroupMetrics.Rejection.GROUP_FULL);
+                    outcome = JoinDecisionResult.Outcome.GROUP_FULL;
+                } else {
+                    freeSlots--;
+                    resolvedUserIds.add(userId);
+                    approvedMembers.add(GroupMember.builder()
+                            .userId(userId)
+                            .joinedAt(now)
+                            .status(GroupMember.MemberStatus.ACTIVE)
+                            .build());
+                    outcome = JoinDecisionResult.Outcome.APPROVED;
+                }
+
+                results.add(JoinDecisionResult.builder().userId(userId).outcome(outcome).build());
+            }
+
+            if (resolvedUserIds.isEmpty()) {
+                return BatchJoinDecisionResponse.builder()
+                        .group(GroupResponse.fromEntity(group))
+                        .results(results)
+                        .build();
+            }
+
+            // All decisions land in one conditional update; if another request resolved one of
+            // these users or filled a slot in the meantime, re-plan against the fresh document
+            Optional<SavingsGroup> updatedGroup = group.hasExternalMembers()
+                    ? externalMembershipStore.resolve(groupId, organizerId, resolvedUserIds, approvedMembers)
+                    : savingsGroupRepository.resolvePendingMembers(groupId, organizerId, resolvedUserIds, approvedMembers);
+            if (updatedGroup.isPresent()) {
+                GroupResponse response = changed(updatedGroup.get());
+                for (JoinDecisionResult result : results) {
+                    if (result.getOutcome() == JoinDecisionResult.Outcome.APPROVED) {
+                        publish(updatedGroup.get(), GroupEvent.Type.MEMBER_APPROVED, organizerId, result.getUserId());
+                    } else if (result.getOutcome() == JoinDecisionResult.Outcome.REJECTED) {
+                        publish(updatedGroup.get(), GroupEvent.Type.MEMBER_REJECTED, organizerId, result.getUserId());
+                    }
+                }
+                return BatchJoinDecisionResponse.builder()
+                        .group(response)
+                        .results(results)
+                        .build();
+            }
+
+            log.debug("Group {} changed while applying batch join decisions, retrying (attempt {})", groupId, attempt);
         }
+        throw conflict(groupId);
+    }
+
+    public List<GroupResponse> getOrganizerGroups(String organizerId) {
+        List<SavingsGroup> groups = savingsGroupRepository.findByOrganizerId(organizerId);
+        externalMembershipStore.hydrateAll(groups);
+        return groups.stream()
+                .map(GroupResponse::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    public GroupResponse setMemberPriority(String groupId, String userId, int priority, String organizerId) {
+        boolean external = externalMembershipStore.isKnownExternal(groupId);
+        Optional<SavingsGroup> updatedGroup = external
+                ? externalMembershipStore.setPriority(groupId, organizerId, userId, priority)
+                : savingsGroupRepository.setMemberPriority(groupId, organizerId, userId, priority);
+        if (updatedGroup.isEmpty()) {
+            SavingsGroup group = findGroup(groupId);
+
+            // Check if user is the organizer
+            if (!group.getOrganizerId().equals(organizerId)) {
+                throw rejected(GroupMetrics.Rejection.NOT_ORGANIZER, new UnauthorizedException("Only the organizer can set member priorities"));
+            }
 
-        // Add to pending members
-        group.getPendingMemberIds().add(userId);
+            // The payout order is fixed once the group is active
+            if (!group.isOpen()) {
+                throw rejected(GroupMetrics.Rejection.INVALID_STATE, new IllegalStateException("Member priorities can only be changed while the group is open"));
+            }
+
+            if (!isMember(group, userId)) {
+                throw rejected(GroupMetrics.Rejection.NOT_MEMBER, new IllegalStateException("User is not a member of this group"));
+            }
 
-        SavingsGroup updatedGroup = savingsGroupRepository.save(group);
-        return GroupResponse.fromEntity(updatedGroup);
+            if (group.hasExternalMembers() && !external) {
+                updatedGroup = externalMembershipStore.setPriority(groupId, organizerId, userId, priority);
+            }
+        }
+        return changed(updatedGroup.orElseThrow(() -> conflict(groupId)), GroupEvent.Type.PRIORITY_CHANGED, organizerId, userId);
     }
 
-    public GroupResponse respondToJoinRequest(String groupId, String userId, boolean approved, String organizerId) {
-        SavingsGroup group = savingsGroupRepository.findById(groupId)
-                .orElseThrow(() -> new ResourceNotFoundException("Group not found with id: " + groupId));
+    public List<AuditRecord> getAuditTrail(String groupId, String organizerId) {
+        SavingsGroup group = findGroup(groupId);
 
         // Check if user is the organizer
         if (!group.getOrganizerId().equals(organizerId)) {
-            throw new UnauthorizedException("Only the organizer can respond to join requests");
+            throw rejected(GroupMetrics.Rejection.NOT_ORGANIZER, new UnauthorizedException("Only the organizer can view the audit trail"));
         }
 
-        // Check if user has a pending request
-        if (!group.hasPendingMember(userId)) {
-            throw new IllegalStateException("User does not have a pending request to join this group");
+        return auditLog.readGroup(groupId);
+    }
+
+    // Group event streams carry member ids and payout changes, so only the organizer,
+    // members and pending members may subscribe
+    public void checkCanViewEvents(String groupId, String userId) {
+        SavingsGroup group = findGroup(groupId);
+
+        if (!group.getOrganizerId().equals(userId) && !isMember(group, userId) && !isPending(group, userId)) {
+            throw rejected(GroupMetrics.Rejection.NOT_MEMBER, new UnauthorizedException("Only the organizer and members can follow this group"));
         }
+    }
 
-        // Remove from pending members
-        group.getPendingMemberIds().remove(userId);
+    public List<GroupSummary> getOrganizerGroupSummaries(String organizerId) {
+        return savingsGroupRepository.findSummariesByOrganizerId(organizerId);
+    }
+
+    public MyGroupsResponse getMyGroups(String userId) {
+        Map<Boolean, List<UserGroupEntry>> byPending = userGroupIndexRepository.findGroupSummaries(userId).stream()
+                .collect(Collectors.partitioningBy(entry -> entry.getRole() == UserGroupIndexEntry.Role.PENDING));
+        return MyGroupsResponse.builder()
+                .memberships(byPending.get(false))
+                .pendingRequests(byPending.get(true))
+                .build();
+    }
 
-        // If approved, add to members
-        if (approved) {
-            // Check if group is full
-            if (group.isFull()) {
-                throw new IllegalStateException("Group is already full");
+    public GroupResponse assignNextRecipient(String groupId, String organizerId) {
+        for (int attempt = 1; attempt <= MAX_UPDATE_ATTEMPTS; attempt++) {
+            SavingsGroup group = findGroup(groupId);
+
+            // Check if user is the organizer
+            if (!group.getOrganizerId().equals(organizerId)) {
+                throw rejected(GroupMetrics.Rejection.NOT_ORGANIZER, new UnauthorizedException("Only the organizer can assign recipients"));
             }
 
-            GroupMember newMember = GroupMember.builder()
-                    .userId(userId)
-                    .joinedAt(LocalDateTime.now())
-                    .status(GroupMember.MemberStatus.ACTIVE)
-                    .build();
+            Update update = planNextRecipient(externalMembershipStore.hydrate(group));
 
-            group.getMembers().add(newMember);
+            // Only the changed fields are written, guarded by the version that was read
+            Optional<SavingsGroup> updatedGroup = savingsGroupRepository.updateIfVersion(groupId, group.getVersion(), update);
+            if (updatedGroup.isPresent()) {
+                if (group.hasExternalMembers() && group.isActive()) {
+                    externalMembershipStore.saveReceivedCycles(group, group.getCurrentRecipientId());
+                }
+                return changed(updatedGroup.get(), GroupEvent.Type.RECIPIENT_CHANGED, organizerId,
+                        updatedGroup.get().getCurrentRecipientId());
+            }
+
+            log.debug("Group {} changed while assigning next recipient, retrying (attempt {})", groupId, attempt);
         }
+        throw conflict(groupId);
+    }
 
-        SavingsGroup updatedGroup = savingsGroupRepository.save(group);
-        return GroupResponse.fromEntity(updatedGroup);
+    public GroupResponse closeGroup(String groupId, String organizerId) {
+        SavingsGroup updatedGroup = savingsGroupRepository.closeGroup(groupId, organizerId)
+                .orElseThrow(() -> {
+                    validateClose(findGroup(groupId), organizerId);
+                    return conflict(groupId);
+                });
+        return changed(updatedGroup, GroupEvent.Type.GROUP_CLOSED, organizerId, null);
     }
 
-    public List<GroupResponse> getOrganizerGroups(String organizerId) {
-        return savingsGroupRepository.findByOrganizerId(organizerId).stream()
-                .map(GroupResponse::fromEntity)
-                .collect(Collectors.toList());
+    private GroupResponse changed(SavingsGroup group) {
+        groupCache.evict(group.getId());
+        return GroupResponse.fromEntity(group);
     }
 
-    public GroupResponse assignNextRecipient(String groupId, String organizerId) {
+    private GroupResponse changed(SavingsGroup group, GroupEvent.Type type, String actorId, String userId) {
+        GroupResponse response = changed(group);
+        publish(group, type, actorId, userId);
+        return response;
+    }
+
+    private void publish(SavingsGroup group, GroupEvent.Type type, String actorId, String userId) {
+        groupEventBus.publish(GroupEvent.of(type, group, actorId, userId), group, userId);
+    }
+
+    private SavingsGroup findGroup(String groupId) {
         SavingsGroup group = savingsGroupRepository.findById(groupId)
                 .orElseThrow(() -> new ResourceNotFoundException("Group not found with id: " + groupId));
+        externalMembershipStore.remember(group);
+        return group;
+    }
 
-        // Check if user is the organizer
-        if (!group.getOrganizerId().equals(organizerId)) {
-            throw new UnauthorizedException("Only the organizer can assign recipients");
-        }
+    private Update planNextRecipient(SavingsGroup group) {
+        Update update = new Update();
 
         // Check if group is active
         if (group.getStatus() != SavingsGroup.GroupStatus.ACTIVE) {
@@ -223,63 +611,109 @@ public class SavingsGroupService {
                 LocalDateTime endDate = group.getStartDate()
                         .plusMonths((long) group.getCycleDurationInMonths() * group.getMembers().size());
                 group.setEndDate(endDate);
+
+                update.set("status", group.getStatus())
+                        .set("startDate", group.getStartDate())
+                        .set("endDate", group.getEndDate());
+
+                // The whole payout order is drawn once, here
+                payoutRotationEngine.activate(group, update);
             } else {
-                throw new IllegalStateException("Group is not in an active state");
+                throw rejected(GroupMetrics.Rejection.INVALID_STATE, new IllegalStateException("Group is not in an active state"));
             }
+        } else {
+            payoutRotationEngine.ensureSchedule(group, update);
         }
 
-        // Find eligible members who haven't received yet
-        List<GroupMember> eligibleMembers = group.getMembers().stream()
-                .filter(member -> member.getStatus() == GroupMember.MemberStatus.ACTIVE)
-                .filter(member -> !member.hasReceivedInCurrentCycle(group.getCurrentCycle()))
-                .collect(Collectors.toList());
+        // Select next recipient from the precomputed schedule
+        payoutRotationEngine.advance(group, update);
+        return update;
+    }
 
-        if (eligibleMembers.isEmpty()) {
-            // Move to next cycle if all members have received
-            group.setCurrentCycle(group.getCurrentCycle() + 1);
+    private void validateUpdate(SavingsGroup group, String organizerId) {
+        // Check if user is the organizer
+        if (!group.getOrganizerId().equals(organizerId)) {
+            throw rejected(GroupMetrics.Rejection.NOT_ORGANIZER, new UnauthorizedException("Only the organizer can update this group"));
+        }
 
-            // Check if all cycles completed
-            if (group.getCurrentCycle() > group.getTotalCycles()) {
-                group.setStatus(SavingsGroup.GroupStatus.COMPLETED);
-                return GroupResponse.fromEntity(savingsGroupRepository.save(group));
-            }
+        // Don't allow updates if group is active or completed
+        if (group.getStatus() == SavingsGroup.GroupStatus.ACTIVE ||
+                group.getStatus() == SavingsGroup.GroupStatus.COMPLETED) {
+            throw rejected(GroupMetrics.Rejection.INVALID_STATE, new IllegalStateException("Cannot update an active or completed group"));
+        }
+    }
+
+    private void validateClose(SavingsGroup group, String organizerId) {
+        // Check if user is the organizer
+        if (!group.getOrganizerId().equals(organizerId)) {
+            throw rejected(GroupMetrics.Rejection.NOT_ORGANIZER, new UnauthorizedException("Only the organizer can close this group"));
+        }
+
+        // Don't allow closing if already completed
+        if (group.getStatus() == SavingsGroup.GroupStatus.COMPLETED) {
+            throw rejected(GroupMetrics.Rejection.INVALID_STATE, new IllegalStateException("Group is already completed"));
+        }
+    }
 
-            // Reset for new cycle
-            eligibleMembers = group.getMembers().stream()
-                    .filter(member -> member.getStatus() == GroupMember.MemberStatus.ACTIVE)
-                    .collect(Collectors.toList());
+    private void validateJoin(SavingsGroup group, String userId) {
+        // Check if group is open for joining
+        if (!group.isOpen()) {
+            throw rejected(GroupMetrics.Rejection.GROUP_NOT_OPEN, new IllegalStateException("Group is not accepting new members"));
         }
 
-        if (eligibleMembers.isEmpty()) {
-            throw new IllegalStateException("No eligible members found for the current cycle");
+        // Check if group is full
+        if (group.isFull()) {
+            throw rejected(GroupMetrics.Rejection.GROUP_FULL, new IllegalStateException("Group is already full"));
         }
 
-        // Select next recipient
-        GroupMember selectedMember = eligibleMembers.get(0); // For simplicity, pick first eligible member
-        selectedMember.getCyclesReceived().add(group.getCurrentCycle());
-        group.setCurrentRecipientId(selectedMember.getUserId());
+        // Check if user is already a member
+        if (isMember(group, userId)) {
+            throw rejected(GroupMetrics.Rejection.ALREADY_MEMBER, new IllegalStateException("User is already a member of this group"));
+        }
 
-        SavingsGroup updatedGroup = savingsGroupRepository.save(group);
-        return GroupResponse.fromEntity(updatedGroup);
+        // Check if user already has a pending request
+        if (isPending(group, userId)) {
+            throw rejected(GroupMetrics.Rejection.ALREADY_PENDING, new IllegalStateException("User already has a pending request to join this group"));
+        }
     }
 
-    public GroupResponse closeGroup(String groupId, String organizerId) {
-        SavingsGroup group = savingsGroupRepository.findById(groupId)
-                .orElseThrow(() -> new ResourceNotFoundException("Group not found with id: " + groupId));
-
+    private void validateJoinResponse(SavingsGroup group, String userId, boolean approved, String organizerId) {
         // Check if user is the organizer
         if (!group.getOrganizerId().equals(organizerId)) {
-            throw new UnauthorizedException("Only the organizer can close this group");
+            throw rejected(GroupMetrics.Rejection.NOT_ORGANIZER, new UnauthorizedException("Only the organizer can respond to join requests"));
         }
 
-        // Don't allow closing if already completed
-        if (group.getStatus() == SavingsGroup.GroupStatus.COMPLETED) {
-            throw new IllegalStateException("Group is already completed");
+        // Check if user has a pending request
+        if (!isPending(group, userId)) {
+            throw rejected(GroupMetrics.Rejection.NOT_PENDING, new IllegalStateException("User does not have a pending request to join this group"));
+        }
+
+        // Check if group is full
+        if (approved && group.isFull()) {
+            throw rejected(GroupMetrics.Rejection.GROUP_FULL, new IllegalStateException("Group is already full"));
         }
+    }
+
+    // Point lookups in group_memberships for EXTERNAL groups, hashed lookups otherwise
+    private boolean isMember(SavingsGroup group, String userId) {
+        return group.hasExternalMembers()
+                ? externalMembershipStore.isMember(group.getId(), userId)
+                : group.hasMember(userId);
+    }
 
-        group.setStatus(SavingsGroup.GroupStatus.CLOSED);
+    private boolean isPending(SavingsGroup group, String userId) {
+        return group.hasExternalMembers()
+                ? externalMembershipStore.isPending(group.getId(), userId)
+                : group.hasPendingMember(userId);
+    }
+
+    private <E extends RuntimeException> E rejected(GroupMetrics.Rejection reason, E exception) {
+        groupMetrics.rejected(reason);
+        return exception;
+    }
 
-        SavingsGroup updatedGroup = savingsGroupRepository.save(group);
-        return GroupResponse.fromEntity(updatedGroup);
+    private OptimisticLockingFailureException conflict(String groupId) {
+        groupMetrics.rejected(GroupMetrics.Rejection.CONFLICT);
+        return new OptimisticLockingFailureException("Group " + groupId + " was modified concurrently, please retry");
     }
-}
\ No newline at end of file
+}
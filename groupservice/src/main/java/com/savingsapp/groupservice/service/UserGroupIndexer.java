@@ -0,0 +1,40 @@
+package com.savingsapp.groupservice.service;
+
+import com.savingsapp.groupservice.model.UserGroupIndexEntry;
+import com.savingsapp.groupservice.repository.UserGroupIndexRepository;
+import com.savingsapp.groupservice.service.events.GroupEvent;
+import com.savingsapp.groupservice.service.events.GroupEventBus;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// Keeps user_group_index in step with membership changes. Runs as a group event listener,
+// so the index is updated in the request that made the change, after its group write.
+@Component
+@RequiredArgsConstructor
+public class UserGroupIndexer {
+
+    private final GroupEventBus groupEventBus;
+    private final UserGroupIndexRepository userGroupIndexRepository;
+
+    @PostConstruct
+    public void register() {
+        groupEventBus.addListener(this::onEvent);
+    }
+
+    void onEvent(GroupEvent event) {
+        switch (event.type()) {
+            case GROUP_CREATED ->
+                    userGroupIndexRepository.upsert(event.actorId(), event.groupId(), UserGroupIndexEntry.Role.ORGANIZER);
+            case JOIN_REQUESTED ->
+                    userGroupIndexRepository.upsert(event.userId(), event.groupId(), UserGroupIndexEntry.Role.PENDING);
+            case MEMBER_APPROVED ->
+                    userGroupIndexRepository.upsert(event.userId(), event.groupId(), UserGroupIndexEntry.Role.MEMBER);
+            case MEMBER_REJECTED -> userGroupIndexRepository.remove(event.userId(), event.groupId());
+            case GROUP_DELETED -> userGroupIndexRepository.deleteByGroupId(event.groupId());
+            default -> {
+                // Other changes do not affect who belongs to the group
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.savingsapp.groupservice.service.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.savingsapp.groupservice.model.SavingsGroup;
+
+import java.time.LocalDateTime;
+
+// Compact delta pushed to subscribers: enough to update a client view without re-reading the group
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record GroupEvent(
+        Type type,
+        String groupId,
+        Long version,
+        @JsonIgnore String actorId, // Who made the change; kept server-side for the audit log
+        String userId, // The member the event is about, if any
+        SavingsGroup.GroupStatus status,
+        Integer currentCycle,
+        String currentRecipientId,
+        LocalDateTime at
+) {
+
+    public enum Type {
+        GROUP_CREATED,
+        GROUP_UPDATED,
+        GROUP_CLOSED,
+        GROUP_DELETED,
+        JOIN_REQUESTED,
+        MEMBER_APPROVED,
+        MEMBER_REJECTED,
+        PRIORITY_CHANGED,
+        RECIPIENT_CHANGED
+    }
+
+    public static GroupEvent of(Type type, SavingsGroup group, String actorId, String userId) {
+        return new GroupEvent(type, group.getId(), group.getVersion(), actorId, userId, group.getStatus(),
+                group.getCurrentCycle(), group.getCurrentRecipientId(), LocalDateTime.now());
+    }
+}
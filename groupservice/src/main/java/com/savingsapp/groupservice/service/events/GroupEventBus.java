@@ -0,0 +1,252 @@
+package com.savingsapp.groupservice.service.events;
+
+import com.savingsapp.groupservice.exception.ServiceUnavailableException;
+import com.savingsapp.groupservice.model.GroupMember;
+import com.savingsapp.groupservice.model.SavingsGroup;
+import com.savingsapp.groupservice.service.ExternalMembershipStore;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// In-process fan-out of group changes to in-process listeners and SSE subscribers.
+// Publishing never blocks on a client: each subscriber has a bounded buffer drained by a
+// small dispatcher pool, and a subscriber whose buffer overflows is disconnected (it can
+// reconnect and re-read the group). Events only reach subscribers of this instance.
+@Component
+@Slf4j
+public class GroupEventBus {
+
+    private final Map<String, Set<Subscriber>> groupSubscribers = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscriber>> userSubscribers = new ConcurrentHashMap<>();
+    private final List<Consumer<GroupEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final int maxSubscribers;
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService heartbeat;
+    private final ExternalMembershipStore externalMembershipStore;
+
+    public GroupEventBus(@Value("${groupservice.events.buffer-size:32}") int bufferSize,
+                         @Value("${groupservice.events.timeout-ms:1800000}") long timeoutMs,
+                         @Value("${groupservice.events.max-subscribers:20000}") int maxSubscribers,
+                         @Value("${groupservice.events.dispatcher-threads:4}") int dispatcherThreads,
+                         @Value("${groupservice.events.heartbeat-seconds:25}") long heartbeatSeconds,
+                         ExternalMembershipStore externalMembershipStore) {
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.maxSubscribers = maxSubscribers;
+        this.dispatcher = Executors.newFixedThreadPool(dispatcherThreads);
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor();
+        this.externalMembershipStore = externalMembershipStore;
+
+        // Heartbeats keep proxies from closing idle streams and flush out dead connections
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        dispatcher.shutdownNow();
+    }
+
+    public SseEmitter subscribeToGroup(String groupId) {
+        return subscribe(groupSubscribers, groupId);
+    }
+
+    public SseEmitter subscribeToUser(String userId) {
+        return subscribe(userSubscribers, userId);
+    }
+
+    public void addListener(Consumer<GroupEvent> listener) {
+        listeners.add(listener);
+    }
+
+    // Delivers to subscribers of the group and to the organizer, members and pending members;
+    // extraUserId covers users who are no longer part of the group, e.g. a rejected applicant
+    public void publish(GroupEvent event, SavingsGroup group, String extraUserId) {
+        for (Consumer<GroupEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                log.warn("Group event listener failed for {} on group {}", event.type(), event.groupId(), e);
+            }
+        }
+
+        if (subscriberCount.get() == 0) {
+            return;
+        }
+
+        Set<DataWithMediaType> message = frame(SseEmitter.event()
+                .id(event.groupId() + ":" + event.version())
+                .name(event.type().name())
+                .data(event, MediaType.APPLICATION_JSON));
+
+        deliver(groupSubscribers.get(event.groupId()), message);
+
+        if (userSubscribers.isEmpty()) {
+            return;
+        }
+        Set<String> audience = new HashSet<>();
+        audience.add(group.getOrganizerId());
+        if (event.userId() != null) {
+            audience.add(event.userId());
+        }
+        if (extraUserId != null) {
+            audience.add(extraUserId);
+        }
+        if (group.hasExternalMembers()) {
+            // The group document only holds counters; rather than load every membership of a
+            // large group, only the users connected to this instance are looked up
+            Set<String> connected = new HashSet<>(userSubscribers.keySet());
+            connected.removeAll(audience);
+            audience.addAll(externalMembershipStore.findParticipants(group.getId(), connected));
+        } else {
+            for (GroupMember member : group.getMembers()) {
+                audience.add(member.getUserId());
+            }
+            audience.addAll(group.getPendingMemberIds());
+        }
+        for (String userId : audience) {
+            deliver(userSubscribers.get(userId), message);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    private SseEmitter subscribe(Map<String, Set<Subscriber>> index, String key) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceUnavailableException("Too many event subscribers, please retry later");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, index, key, new ArrayBlockingQueue<>(bufferSize));
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        emitter.onCompletion(subscriber::remove);
+        emitter.onTimeout(subscriber::remove);
+        emitter.onError(e -> subscriber.remove());
+        return emitter;
+    }
+
+    // SseEventBuilder.build() appends to the builder on every call and is not thread-safe,
+    // so an event is built once and the resulting frame is shared by all subscribers
+    private static Set<DataWithMediaType> frame(SseEmitter.SseEventBuilder builder) {
+        return Collections.unmodifiableSet(builder.build());
+    }
+
+    private void deliver(Set<Subscriber> subscribers, Set<DataWithMediaType> message) {
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.buffer.offer(message)) {
+                subscriber.scheduleDrain();
+            } else {
+                // Slow consumer: drop the connection rather than buffer without bound
+                evictions.incrementAndGet();
+                log.debug("Evicting slow event subscriber for {}", subscriber.key);
+                subscriber.close();
+            }
+        }
+    }
+
+    private void sendHeartbeats() {
+        Set<DataWithMediaType> ping = frame(SseEmitter.event().comment("ping"));
+        groupSubscribers.values().forEach(subscribers -> deliver(subscribers, ping));
+        userSubscribers.values().forEach(subscribers -> deliver(subscribers, ping));
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Map<String, Set<Subscriber>> index;
+        private final String key;
+        private final BlockingQueue<Set<DataWithMediaType>> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, Map<String, Set<Subscriber>> index, String key,
+                           BlockingQueue<Set<DataWithMediaType>> buffer) {
+            this.emitter = emitter;
+            this.index = index;
+            this.key = key;
+            this.buffer = buffer;
+        }
+
+        // At most one drain per subscriber runs at a time, so events keep their order
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<DataWithMediaType> message;
+                while ((message = buffer.poll()) != null) {
+                    emitter.send(message);
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+                return;
+            } finally {
+                draining.set(false);
+            }
+
+            if (!buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void close() {
+            remove();
+            emitter.complete();
+        }
+
+        private void remove() {
+            if (!removed.compareAndSet(false, true)) {
+                return;
+            }
+            subscriberCount.decrementAndGet();
+            buffer.clear();
+            index.computeIfPresent(key, (k, subscribers) -> {
+                subscribers.remove(this);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+    }
+}
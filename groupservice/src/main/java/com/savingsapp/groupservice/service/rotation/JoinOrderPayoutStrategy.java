@@ -0,0 +1,24 @@
+package com.savingsapp.groupservice.service.rotation;
+
+import com.savingsapp.groupservice.model.GroupMember;
+import com.savingsapp.groupservice.model.SavingsGroup;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+public class JoinOrderPayoutStrategy implements PayoutStrategy {
+
+    @Override
+    public SavingsGroup.RotationStrategy type() {
+        return SavingsGroup.RotationStrategy.JOIN_ORDER;
+    }
+
+    @Override
+    public List<String> schedule(List<GroupMember> members, long seed) {
+        return members.stream()
+                .map(GroupMember::getUserId)
+                .collect(Collectors.toList());
+    }
+}
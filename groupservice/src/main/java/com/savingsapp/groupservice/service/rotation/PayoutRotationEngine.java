@@ -0,0 +1,161 @@
+package com.savingsapp.groupservice.service.rotation;
+
+import com.savingsapp.groupservice.model.GroupMember;
+import com.savingsapp.groupservice.model.SavingsGroup;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+// Draws a group's payout schedule once and then advances through it in constant time.
+// Every method applies its changes to the in-memory group and records the same
+// changes on the given Update, so callers can persist them in one conditional write.
+@Component
+public class PayoutRotationEngine {
+
+    private final Map<SavingsGroup.RotationStrategy, PayoutStrategy> strategies =
+            new EnumMap<>(SavingsGroup.RotationStrategy.class);
+
+    public PayoutRotationEngine(List<PayoutStrategy> strategies) {
+        strategies.forEach(strategy -> this.strategies.put(strategy.type(), strategy));
+    }
+
+    public void activate(SavingsGroup group, Update update) {
+        SavingsGroup.RotationStrategy type = group.getRotationStrategy() != null
+                ? group.getRotationStrategy()
+                : SavingsGroup.RotationStrategy.JOIN_ORDER;
+        long seed = group.getRotationSeed() != null
+                ? group.getRotationSeed()
+                : ThreadLocalRandom.current().nextLong();
+
+        List<String> schedule = strategy(type).schedule(activeMembers(group), seed);
+
+        group.setRotationStrategy(type);
+        group.setRotationSeed(seed);
+        group.setPayoutSchedule(schedule);
+        group.setPayoutPosition(0);
+
+        update.set("rotationStrategy", type)
+                .set("rotationSeed", seed)
+                .set("payoutSchedule", schedule)
+                .set("payoutPosition", 0);
+    }
+
+    // Groups activated before schedules existed were paid in join order, first eligible
+    // member first; rebuild that schedule and derive the position from cyclesReceived
+    public void ensureSchedule(SavingsGroup group, Update update) {
+        if (group.getPayoutSchedule() != null && !group.getPayoutSchedule().isEmpty()) {
+            return;
+        }
+
+        List<GroupMember> members = activeMembers(group);
+        List<String> schedule = strategy(SavingsGroup.RotationStrategy.JOIN_ORDER).schedule(members, 0);
+        long paidThisCycle = members.stream()
+                .filter(member -> member.hasReceivedInCurrentCycle(group.getCurrentCycle()))
+                .count();
+        int position = Math.max(group.getCurrentCycle() - 1, 0) * schedule.size() + (int) paidThisCycle;
+
+        group.setRotationStrategy(SavingsGroup.RotationStrategy.JOIN_ORDER);
+        group.setPayoutSchedule(schedule);
+        group.setPayoutPosition(position);
+
+        update.set("rotationStrategy", SavingsGroup.RotationStrategy.JOIN_ORDER)
+                .set("payoutSchedule", schedule)
+                .set("payoutPosition", position);
+        scheduleNextCycle(group, update);
+    }
+
+    // For ACTIVE groups that have no nextCycleAt, e.g. groups activated before cycles were
+    // scheduled: the next payout is derived from the current position like after an advance
+    public void scheduleFromPosition(SavingsGroup group, Update update) {
+        ensureSchedule(group, update);
+        scheduleNextCycle(group, update);
+    }
+
+    public void advance(SavingsGroup group, Update update) {
+        List<String> schedule = group.getPayoutSchedule();
+        int size = schedule.size();
+        int position = group.getPayoutPosition();
+
+        // Members deactivated after the schedule was drawn are skipped, at most one full round
+        for (int skipped = 0; skipped < Math.max(size, 1); skipped++, position++) {
+            int cycle = size == 0 ? 1 : position / size + 1;
+
+            // Check if all cycles completed
+            if (cycle > group.getTotalCycles()) {
+                group.setStatus(SavingsGroup.GroupStatus.COMPLETED);
+                group.setCurrentCycle(cycle);
+                group.setPayoutPosition(position);
+                group.setNextCycleAt(null);
+                update.set("status", group.getStatus())
+                        .set("currentCycle", cycle)
+                        .set("payoutPosition", position)
+                        .unset("nextCycleAt");
+                return;
+            }
+
+            if (size == 0) {
+                break;
+            }
+
+            String recipientId = schedule.get(position % size);
+            int memberIndex = group.getMemberPosition(recipientId);
+            if (memberIndex < 0) {
+                continue;
+            }
+
+            GroupMember recipient = group.getMembers().get(memberIndex);
+            if (recipient.getStatus() != GroupMember.MemberStatus.ACTIVE) {
+                continue;
+            }
+
+            recipient.markReceived(cycle);
+            group.setCurrentCycle(cycle);
+            group.setCurrentRecipientId(recipientId);
+            group.setPayoutPosition(position + 1);
+
+            update.set("currentCycle", cycle)
+                    .set("currentRecipientId", recipientId)
+                    .set("payoutPosition", position + 1);
+            // With EXTERNAL member storage the caller persists the recipient's membership instead
+            if (!group.hasExternalMembers()) {
+                update.set("members." + memberIndex + ".receivedCycles", recipient.getReceivedCycles());
+            }
+            scheduleNextCycle(group, update);
+            return;
+        }
+
+        throw new IllegalStateException("No eligible members found for the current cycle");
+    }
+
+    // Payouts are one cycle duration apart, the first one falling on the start date
+    private static void scheduleNextCycle(SavingsGroup group, Update update) {
+        if (group.getStartDate() == null) {
+            return;
+        }
+
+        LocalDateTime nextCycleAt = group.getStartDate()
+                .plusMonths((long) group.getCycleDurationInMonths() * group.getPayoutPosition());
+        group.setNextCycleAt(nextCycleAt);
+        update.set("nextCycleAt", nextCycleAt);
+    }
+
+    private PayoutStrategy strategy(SavingsGroup.RotationStrategy type) {
+        PayoutStrategy strategy = strategies.get(type);
+        if (strategy == null) {
+            throw new IllegalStateException("No payout strategy registered for " + type);
+        }
+        return strategy;
+    }
+
+    private static List<GroupMember> activeMembers(SavingsGroup group) {
+        return group.getMembers().stream()
+                .filter(member -> member.getStatus() == GroupMember.MemberStatus.ACTIVE)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,15 @@
+package com.savingsapp.groupservice.service.rotation;
+
+import com.savingsapp.groupservice.model.GroupMember;
+import com.savingsapp.groupservice.model.SavingsGroup;
+
+import java.util.List;
+
+public interface PayoutStrategy {
+
+    SavingsGroup.RotationStrategy type();
+
+    // Members are given in join order. The same members and seed must always
+    // produce the same schedule so a rotation can be replayed.
+    List<String> schedule(List<GroupMember> members, long seed);
+}
@@ -0,0 +1,27 @@
+package com.savingsapp.groupservice.service.rotation;
+
+import com.savingsapp.groupservice.model.GroupMember;
+import com.savingsapp.groupservice.model.SavingsGroup;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+public class PriorityPayoutStrategy implements PayoutStrategy {
+
+    @Override
+    public SavingsGroup.RotationStrategy type() {
+        return SavingsGroup.RotationStrategy.PRIORITY;
+    }
+
+    @Override
+    public List<String> schedule(List<GroupMember> members, long seed) {
+        // Stream sorting is stable, so equal priorities keep join order
+        return members.stream()
+                .sorted(Comparator.comparingInt(GroupMember::getPriority).reversed())
+                .map(GroupMember::getUserId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,31 @@
+package com.savingsapp.groupservice.service.rotation;
+
+import com.savingsapp.groupservice.model.GroupMember;
+import com.savingsapp.groupservice.model.SavingsGroup;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+@Component
+public class SeededShufflePayoutStrategy implements PayoutStrategy {
+
+    @Override
+    public SavingsGroup.RotationStrategy type() {
+        return SavingsGroup.RotationStrategy.SEEDED_SHUFFLE;
+    }
+
+    @Override
+    public List<String> schedule(List<GroupMember> members, long seed) {
+        List<String> schedule = members.stream()
+                .map(GroupMember::getUserId)
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        // java.util.Random's sequence is fixed by its specification, so a stored seed replays exactly
+        Collections.shuffle(schedule, new Random(seed));
+        return schedule;
+    }
+}
@@ -0,0 +1,89 @@
+package com.savingsapp.groupservice.audit;
+
+import com.savingsapp.groupservice.model.SavingsGroup;
+import com.savingsapp.groupservice.service.events.GroupEvent;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Records survive a round trip, and anything a crash can leave behind (a zero length, a
+// record cut short, bytes that do not match the crc) reads as the end of the data
+class AuditCodecTest {
+
+    private static final LocalDateTime AT = LocalDateTime.of(2026, 3, 1, 9, 30, 15);
+
+    @Test
+    void decodesWhatWasEncoded() {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        int size = encode(buffer, 42, event("organizer", "Zoë"));
+
+        AuditRecord record = AuditCodec.decode(buffer, 0);
+
+        assertThat(size).isEqualTo(buffer.position());
+        assertThat(AuditCodec.recordSize(buffer, 0)).isEqualTo(size);
+        assertThat(record.sequence()).isEqualTo(42);
+        assertThat(record.timestamp()).isEqualTo(AT.atZone(ZoneId.systemDefault()).toInstant());
+        assertThat(record.type()).isEqualTo(GroupEvent.Type.MEMBER_APPROVED);
+        assertThat(record.groupId()).isEqualTo("group-1");
+        assertThat(record.version()).isEqualTo(7);
+        assertThat(record.cycle()).isEqualTo(2);
+        assertThat(record.actorId()).isEqualTo("organizer");
+        assertThat(record.userId()).isEqualTo("Zoë");
+    }
+
+    @Test
+    void keepsNullStringsApartFromEmptyOnes() {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        encode(buffer, 1, event("", null));
+
+        AuditRecord record = AuditCodec.decode(buffer, 0);
+
+        assertThat(record.actorId()).isEmpty();
+        assertThat(record.userId()).isNull();
+    }
+
+    @Test
+    void readsConsecutiveRecords() {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        int first = encode(buffer, 1, event("organizer", null));
+        encode(buffer, 2, event("organizer", "user-1"));
+
+        assertThat(AuditCodec.decode(buffer, first).sequence()).isEqualTo(2);
+        assertThat(AuditCodec.decode(buffer, buffer.position())).isNull();
+    }
+
+    @Test
+    void treatsACorruptedRecordAsTheEndOfData() {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        encode(buffer, 1, event("organizer", "user-1"));
+        int last = buffer.position() - 1;
+        buffer.put(last, (byte) (buffer.get(last) ^ 1));
+
+        assertThat(AuditCodec.decode(buffer, 0)).isNull();
+    }
+
+    @Test
+    void treatsARecordCutShortAsTheEndOfData() {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        int size = encode(buffer, 1, event("organizer", "user-1"));
+
+        assertThat(AuditCodec.decode(buffer.limit(size - 1), 0)).isNull();
+    }
+
+    private static int encode(ByteBuffer buffer, long sequence, GroupEvent event) {
+        byte[] groupId = AuditCodec.utf8(event.groupId());
+        byte[] actorId = AuditCodec.utf8(event.actorId());
+        byte[] userId = AuditCodec.utf8(event.userId());
+        AuditCodec.encode(buffer, sequence, event, groupId, actorId, userId);
+        return AuditCodec.encodedSize(groupId, actorId, userId);
+    }
+
+    private static GroupEvent event(String actorId, String userId) {
+        return new GroupEvent(GroupEvent.Type.MEMBER_APPROVED, "group-1", 7L, actorId, userId,
+                SavingsGroup.GroupStatus.ACTIVE, 2, "user-2", AT);
+    }
+}
@@ -0,0 +1,102 @@
+package com.savingsapp.groupservice.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Offers fail once the ring is full, the consumer sees each producer's items in order, and
+// nothing is lost or delivered twice with several producers at once
+class AuditRingBufferTest {
+
+    @Test
+    void rejectsACapacityThatIsNotAPowerOfTwo() {
+        assertThatThrownBy(() -> new AuditRingBuffer<String>(6)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void refusesOffersWhileFullAndAcceptsThemAgainAfterADrain() {
+        AuditRingBuffer<Integer> ring = new AuditRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(ring.offer(i)).isTrue();
+        }
+        assertThat(ring.offer(4)).isFalse();
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(ring.drain(drained::add, 2)).isEqualTo(2);
+        assertThat(ring.offer(4)).isTrue();
+        assertThat(ring.offer(5)).isTrue();
+        assertThat(ring.offer(6)).isFalse();
+
+        ring.drain(drained::add, Integer.MAX_VALUE);
+        assertThat(drained).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(ring.isEmpty()).isTrue();
+    }
+
+    @Test
+    void drainsNothingFromAnEmptyRing() {
+        AuditRingBuffer<Integer> ring = new AuditRingBuffer<>(4);
+
+        assertThat(ring.drain(item -> { }, 10)).isZero();
+        assertThat(ring.isEmpty()).isTrue();
+    }
+
+    @Test
+    void deliversEveryItemOnceWithConcurrentProducers() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        AuditRingBuffer<long[]> ring = new AuditRingBuffer<>(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int p = 0; p < producers; p++) {
+                long producer = p;
+                executor.execute(() -> {
+                    await(start);
+                    for (long i = 0; i < perProducer; i++) {
+                        while (!ring.offer(new long[]{producer, i})) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                });
+            }
+            start.countDown();
+
+            long[] next = new long[producers];
+            Set<String> seen = new HashSet<>();
+            boolean[] ordered = {true};
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (seen.size() < producers * perProducer && System.nanoTime() < deadline) {
+                ring.drain(item -> {
+                    int producer = (int) item[0];
+                    ordered[0] &= item[1] == next[producer];
+                    next[producer] = item[1] + 1;
+                    seen.add(item[0] + ":" + item[1]);
+                }, 256);
+            }
+
+            assertThat(seen).hasSize(producers * perProducer);
+            assertThat(ordered[0]).isTrue();
+            assertThat(ring.isEmpty()).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.savingsapp.groupservice.benchmark;
+
+import com.savingsapp.groupservice.audit.AuditLog;
+import com.savingsapp.groupservice.model.SavingsGroup;
+import com.savingsapp.groupservice.service.events.GroupEvent;
+import com.savingsapp.groupservice.service.events.GroupEventBus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Producer-side cost of recording a mutation; the writer thread appends in the background
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditLogBenchmark {
+
+    private GroupEventBus eventBus;
+    private AuditLog auditLog;
+    private GroupEvent event;
+
+    @Setup
+    public void setUp() throws Exception {
+        eventBus = new GroupEventBus(1, 1000, 1, 1, 3600, null);
+        auditLog = new AuditLog(eventBus, true, Files.createTempDirectory("audit-bench").toString(), 64, 65536, 1000, 0);
+        auditLog.start();
+
+        event = new GroupEvent(GroupEvent.Type.MEMBER_APPROVED, GroupFixtures.GROUP_ID, 42L, "organizer-1",
+                "user-1", SavingsGroup.GroupStatus.OPEN, 0, null, LocalDateTime.now());
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        auditLog.shutdown();
+        eventBus.shutdown();
+    }
+
+    @Benchmark
+    public void append() {
+        auditLog.append(event);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void appendContended() {
+        auditLog.append(event);
+    }
+}
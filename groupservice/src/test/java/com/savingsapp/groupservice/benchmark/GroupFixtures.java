@@ -0,0 +1,83 @@
+package com.savingsapp.groupservice.benchmark;
+
+import com.savingsapp.groupservice.model.GroupMember;
+import com.savingsapp.groupservice.model.SavingsGroup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class GroupFixtures {
+
+    static final String GROUP_ID = "65a000000000000000000001";
+    static final String ORGANIZER_ID = "user-0";
+
+    private GroupFixtures() {
+    }
+
+    // An ACTIVE group in cycle 1 where every member but the last has already been paid,
+    // which is the worst case for recipient selection and membership lookups
+    static SavingsGroup activeGroup(int memberCount) {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<GroupMember> members = new ArrayList<>(memberCount);
+        for (int i = 0; i < memberCount; i++) {
+            GroupMember member = GroupMember.builder()
+                    .userId("user-" + i)
+                    .name("Member " + i)
+                    .joinedAt(now)
+                    .status(GroupMember.MemberStatus.ACTIVE)
+                    .build();
+            if (i < memberCount - 1) {
+                member.markReceived(1);
+            }
+            members.add(member);
+        }
+
+        List<String> schedule = new ArrayList<>(memberCount);
+        for (GroupMember member : members) {
+            schedule.add(member.getUserId());
+        }
+
+        List<String> pending = new ArrayList<>(memberCount);
+        for (int i = 0; i < memberCount; i++) {
+            pending.add("pending-" + i);
+        }
+
+        return SavingsGroup.builder()
+                .id(GROUP_ID)
+                .name("Benchmark group")
+                .description("Group used by JMH benchmarks")
+                .organizerId(ORGANIZER_ID)
+                .contributionAmount(new BigDecimal("100.00"))
+                .currency("USD")
+                .cycleDurationInMonths(1)
+                .maxMembers(memberCount)
+                .createdAt(now)
+                .startDate(now)
+                .endDate(now.plusMonths(memberCount))
+                .status(SavingsGroup.GroupStatus.ACTIVE)
+                .members(members)
+                .pendingMemberIds(pending)
+                .currentCycle(1)
+                .totalCycles(memberCount)
+                .rotationStrategy(SavingsGroup.RotationStrategy.JOIN_ORDER)
+                .payoutSchedule(schedule)
+                .payoutPosition(memberCount - 1)
+                .version(1L)
+                .build();
+    }
+
+    // A member that has received a payout in each of the given number of cycles
+    static GroupMember memberWithCycles(int cycles) {
+        GroupMember member = GroupMember.builder()
+                .userId("user-cycles")
+                .status(GroupMember.MemberStatus.ACTIVE)
+                .build();
+        for (int cycle = 1; cycle <= cycles; cycle++) {
+            member.markReceived(cycle);
+        }
+        return member;
+    }
+}
@@ -0,0 +1,124 @@
+package com.savingsapp.groupservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.savingsapp.groupservice.audit.AuditLog;
+import com.savingsapp.groupservice.dto.ApiResponse;
+import com.savingsapp.groupservice.dto.GroupFieldSet;
+import com.savingsapp.groupservice.dto.GroupResponse;
+import com.savingsapp.groupservice.model.GroupMember;
+import com.savingsapp.groupservice.model.SavingsGroup;
+import com.savingsapp.groupservice.repository.SavingsGroupRepository;
+import com.savingsapp.groupservice.service.ExternalMembershipStore;
+import com.savingsapp.groupservice.service.GroupCache;
+import com.savingsapp.groupservice.service.GroupMetrics;
+import com.savingsapp.groupservice.service.SavingsGroupService;
+import com.savingsapp.groupservice.service.events.GroupEventBus;
+import com.savingsapp.groupservice.service.rotation.JoinOrderPayoutStrategy;
+import com.savingsapp.groupservice.service.rotation.PayoutRotationEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupServiceBenchmark {
+
+    private static final long[] NO_CYCLES = new long[0];
+
+    @Param({"5", "50", "500", "5000"})
+    public int memberCount;
+
+    private SavingsGroup group;
+    private GroupMember member;
+    private GroupMember lastMember;
+    private String lastMemberId;
+    private String lastPendingId;
+    private GroupEventBus eventBus;
+    private SavingsGroupService service;
+    private ObjectMapper objectMapper;
+    private ApiResponse<GroupResponse> response;
+
+    @Setup
+    public void setUp() {
+        group = GroupFixtures.activeGroup(memberCount);
+        member = GroupFixtures.memberWithCycles(memberCount);
+        lastMember = group.getMembers().get(memberCount - 1);
+        lastMemberId = lastMember.getUserId();
+        lastPendingId = group.getPendingMemberIds().get(memberCount - 1);
+
+        eventBus = new GroupEventBus(1, 1000, 1, 1, 3600, null);
+        SavingsGroupRepository repository = InMemorySavingsGroupRepository.create(Map.of(GroupFixtures.GROUP_ID, group));
+        service = new SavingsGroupService(
+                repository,
+                new GroupCache(1, 1),
+                new PayoutRotationEngine(List.of(new JoinOrderPayoutStrategy())),
+                new GroupMetrics(new SimpleMeterRegistry()),
+                eventBus,
+                new AuditLog(eventBus, false, "target/audit", 1, 1024, 1000, 0),
+                // The fixture group uses embedded member storage, so the membership repository is never reached
+                new ExternalMembershipStore(null, repository),
+                null);
+
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .setFilterProvider(GroupFieldSet.defaultFilters());
+        response = ApiResponse.success(GroupResponse.fromEntity(group));
+    }
+
+    @TearDown
+    public void tearDown() {
+        eventBus.shutdown();
+    }
+
+    @Benchmark
+    public GroupResponse fromEntity() {
+        return GroupResponse.fromEntity(group);
+    }
+
+    @Benchmark
+    public boolean hasMember() {
+        return group.hasMember(lastMemberId);
+    }
+
+    @Benchmark
+    public boolean hasPendingMember() {
+        return group.hasPendingMember(lastPendingId);
+    }
+
+    @Benchmark
+    public boolean hasReceivedInCurrentCycle() {
+        return member.hasReceivedInCurrentCycle(memberCount);
+    }
+
+    @Benchmark
+    public GroupResponse assignNextRecipient() {
+        GroupResponse result = service.assignNextRecipient(GroupFixtures.GROUP_ID, GroupFixtures.ORGANIZER_ID);
+
+        // Undo the payout so every invocation selects from the same worst-case group
+        lastMember.setReceivedCycles(NO_CYCLES);
+        group.setPayoutPosition(memberCount - 1);
+        return result;
+    }
+
+    @Benchmark
+    public byte[] serializeGroupResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,30 @@
+package com.savingsapp.groupservice.benchmark;
+
+import com.savingsapp.groupservice.model.SavingsGroup;
+import com.savingsapp.groupservice.repository.SavingsGroupRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+
+// Backs only the repository methods the benchmarked service paths call;
+// writes are acknowledged without being applied
+final class InMemorySavingsGroupRepository {
+
+    private InMemorySavingsGroupRepository() {
+    }
+
+    static SavingsGroupRepository create(Map<String, SavingsGroup> groups) {
+        return (SavingsGroupRepository) Proxy.newProxyInstance(
+                SavingsGroupRepository.class.getClassLoader(),
+                new Class<?>[]{SavingsGroupRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById", "updateIfVersion" -> Optional.ofNullable(groups.get((String) args[0]));
+                    case "save" -> args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemorySavingsGroupRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,71 @@
+package com.savingsapp.groupservice.benchmark;
+
+import com.savingsapp.groupservice.security.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmark_secret_key_that_is_long_enough_for_hmac_sha256";
+
+    private JwtUtil cachedJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedJwtUtil = jwtUtil(300);
+        // A zero TTL makes every lookup a miss, measuring the full parse and HMAC check
+        uncachedJwtUtil = jwtUtil(0);
+
+        token = Jwts.builder()
+                .claim("userId", "user-1")
+                .setSubject("user-1")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public String extractUserIdCached() {
+        return cachedJwtUtil.extractUserId(token);
+    }
+
+    @Benchmark
+    public String extractUserIdUncached() {
+        return uncachedJwtUtil.extractUserId(token);
+    }
+
+    private static JwtUtil jwtUtil(long cacheTtlSeconds) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxEntries", 10000);
+        ReflectionTestUtils.setField(jwtUtil, "cacheTtlSeconds", cacheTtlSeconds);
+        ReflectionTestUtils.setField(jwtUtil, "cacheNegativeTtlSeconds", 30L);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
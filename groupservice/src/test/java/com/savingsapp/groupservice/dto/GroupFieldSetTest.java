@@ -0,0 +1,85 @@
+package com.savingsapp.groupservice.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.savingsapp.groupservice.model.GroupMember;
+import com.savingsapp.groupservice.model.SavingsGroup;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// A selection reads the Mongo fields its response fields are computed from, and writes
+// only the selected ones
+class GroupFieldSetTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void selectingACountReadsTheArraysTheCounterAndTheStorageMode() {
+        GroupFieldSet fieldSet = GroupFieldSet.parse("memberCount,pendingCount");
+
+        assertThat(fieldSet.getFields()).containsExactlyInAnyOrder("id", "version", "memberCount", "pendingCount");
+        assertThat(fieldSet.getProjection()).containsExactlyInAnyOrder("id", "version", "memberCount", "pendingCount",
+                "members", "pendingMemberIds", "memberStorage");
+    }
+
+    @Test
+    void leavesTheArraysOutOfOtherSelections() {
+        assertThat(GroupFieldSet.parse("name").getProjection()).containsExactlyInAnyOrder("id", "version", "name");
+    }
+
+    @Test
+    void writesTheCountsOfAnEmbeddedGroupWithoutItsArrays() throws Exception {
+        SavingsGroup group = SavingsGroup.builder()
+                .id("group-1")
+                .members(new ArrayList<>(List.of(member("a"), member("b"))))
+                .pendingMemberIds(new ArrayList<>(List.of("c")))
+                .version(3L)
+                .build();
+
+        JsonNode json = write(GroupFieldSet.parse("memberCount,pendingCount"), GroupResponse.fromEntity(group));
+
+        assertThat(json.get("memberCount").asInt()).isEqualTo(2);
+        assertThat(json.get("pendingCount").asInt()).isEqualTo(1);
+        assertThat(json.has("members")).isFalse();
+        assertThat(json.has("pendingMemberIds")).isFalse();
+    }
+
+    @Test
+    void writesTheCountersOfAnExternalGroup() throws Exception {
+        SavingsGroup group = SavingsGroup.builder()
+                .id("group-1")
+                .memberStorage(SavingsGroup.MemberStorage.EXTERNAL)
+                .memberCount(800)
+                .pendingCount(12)
+                .version(3L)
+                .build();
+
+        JsonNode json = write(GroupFieldSet.parse("memberCount,pendingCount"), GroupResponse.fromEntity(group));
+
+        assertThat(json.get("memberCount").asInt()).isEqualTo(800);
+        assertThat(json.get("pendingCount").asInt()).isEqualTo(12);
+    }
+
+    @Test
+    void rejectsUnknownFields() {
+        assertThatThrownBy(() -> GroupFieldSet.parse("name,leaseOwner")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private JsonNode write(GroupFieldSet fieldSet, GroupResponse response) throws Exception {
+        MappingJacksonValue value = fieldSet.apply(response);
+        return objectMapper.readTree(objectMapper.writer(value.getFilters()).writeValueAsString(value.getValue()));
+    }
+
+    private static GroupMember member(String userId) {
+        return GroupMember.builder()
+                .userId(userId)
+                .status(GroupMember.MemberStatus.ACTIVE)
+                .build();
+    }
+}
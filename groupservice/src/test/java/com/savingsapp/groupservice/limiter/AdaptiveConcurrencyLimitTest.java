@@ -0,0 +1,116 @@
+package com.savingsapp.groupservice.limiter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Additive increase while requests stay fast and the limit is in use, multiplicative
+// decrease on a slow or failed request, always within [minLimit, maxLimit]
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = 1_000_000;
+    private static final long SLOW = 10_000_000;
+
+    @Test
+    void growsByOneWhileHalfTheLimitIsInUse() {
+        AdaptiveConcurrencyLimit limiter = limiter(10, 2, 100);
+        acquire(limiter, 5);
+
+        limiter.release("user-0", FAST, false);
+
+        assertThat(limiter.getLimit()).isEqualTo(11);
+    }
+
+    @Test
+    void holdsWhileMostOfTheLimitIsIdle() {
+        AdaptiveConcurrencyLimit limiter = limiter(10, 2, 100);
+        acquire(limiter, 4);
+
+        limiter.release("user-0", FAST, false);
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void backsOffWhenARequestIsSlowerThanTheBaseline() {
+        AdaptiveConcurrencyLimit limiter = limiter(10, 2, 100);
+        acquire(limiter, 5);
+        limiter.release("user-0", FAST, false);
+
+        limiter.release("user-1", SLOW, false);
+
+        // 11 * 0.9
+        assertThat(limiter.getLimit()).isEqualTo(9);
+    }
+
+    @Test
+    void backsOffOnAFailedRequestEvenWhenItWasFast() {
+        AdaptiveConcurrencyLimit limiter = limiter(10, 2, 100);
+        acquire(limiter, 1);
+
+        limiter.release("user-0", FAST, true);
+
+        assertThat(limiter.getLimit()).isEqualTo(9);
+    }
+
+    @Test
+    void staysWithinTheConfiguredBounds() {
+        AdaptiveConcurrencyLimit limiter = limiter(3, 2, 4);
+        for (int i = 0; i < 10; i++) {
+            acquire(limiter, 2);
+            limiter.release("user-0", FAST, false);
+            limiter.release("user-1", FAST, false);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        for (int i = 0; i < 10; i++) {
+            acquire(limiter, 1);
+            limiter.release("user-0", FAST, true);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsRequestsOverTheLimitAndFreesTheirUserSlot() {
+        AdaptiveConcurrencyLimit limiter = limiter(2, 1, 10);
+        acquire(limiter, 2);
+
+        assertThat(limiter.tryAcquire("late")).isFalse();
+        assertThat(limiter.getLimitRejections()).isEqualTo(1);
+
+        limiter.release("user-0", FAST, false);
+        assertThat(limiter.tryAcquire("late")).isTrue();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void capsASingleUserAtItsShareOfTheLimit() {
+        AdaptiveConcurrencyLimit limiter = new AdaptiveConcurrencyLimit("test", 10, 2, 100, 0.9, 2.0, 0.3);
+
+        assertThat(limiter.tryAcquire("heavy")).isTrue();
+        assertThat(limiter.tryAcquire("heavy")).isTrue();
+        assertThat(limiter.tryAcquire("heavy")).isTrue();
+        assertThat(limiter.tryAcquire("heavy")).isFalse();
+        assertThat(limiter.tryAcquire("other")).isTrue();
+
+        assertThat(limiter.getUserRejections()).isEqualTo(1);
+        assertThat(limiter.getLimitRejections()).isZero();
+    }
+
+    @Test
+    void rejectsInvalidBounds() {
+        assertThatThrownBy(() -> limiter(10, 0, 100)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> limiter(10, 20, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static AdaptiveConcurrencyLimit limiter(int initialLimit, int minLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimit("test", initialLimit, minLimit, maxLimit, 0.9, 2.0, 1.0);
+    }
+
+    private static void acquire(AdaptiveConcurrencyLimit limiter, int users) {
+        for (int i = 0; i < users; i++) {
+            assertThat(limiter.tryAcquire("user-" + i)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.savingsapp.groupservice.limiter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Synchronous requests free their slot when the chain returns; Mono/Flux requests hold it
+// until the async response completes and are sampled with their final status
+class ConcurrencyLimitFilterTest {
+
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ConcurrencyLimitFilter(new ObjectMapper(), true, 50, 10, 150, 20, 4, 50, 0.5, 2.0, 0.25, 1);
+    }
+
+    @Test
+    void releasesASynchronousRequestWhenTheChainReturns() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(get("/api/groups/g1"), response, (req, res) -> { });
+
+        assertThat(filter.getReadLimit().getInFlight()).isZero();
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void holdsTheSlotOfAnAsyncRequestUntilItCompletes() throws Exception {
+        MockHttpServletRequest request = get("/api/groups/reactive/g1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, startAsync());
+        assertThat(filter.getReadLimit().getInFlight()).isEqualTo(1);
+
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertThat(filter.getReadLimit().getInFlight()).isZero();
+        assertThat(filter.getReadLimit().getLimit()).isEqualTo(50);
+    }
+
+    @Test
+    void samplesAnAsyncRequestWithItsFinalStatus() throws Exception {
+        MockHttpServletRequest request = get("/api/groups/reactive/g1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, startAsync());
+        response.setStatus(503);
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        assertThat(filter.getReadLimit().getLimit()).isEqualTo(25);
+    }
+
+    @Test
+    void releasesAStreamWithoutALatencySample() throws Exception {
+        AdaptiveConcurrencyLimit limit = filter.getReadLimit();
+        // Warm the baseline with a fast request, then let a stream run far longer
+        filter.doFilter(get("/api/groups/g1"), new MockHttpServletResponse(), (req, res) -> { });
+        MockHttpServletRequest request = get("/api/groups/reactive");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, startAsync());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        Thread.sleep(50);
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        assertThat(limit.getInFlight()).isZero();
+        assertThat(limit.getLimit()).isEqualTo(50);
+    }
+
+    @Test
+    void rejectsAsyncRequestsOverTheLimit() throws Exception {
+        AdaptiveConcurrencyLimit limit = filter.getReadLimit();
+        for (int i = 0; i < limit.getLimit(); i++) {
+            MockHttpServletRequest request = get("/api/groups/reactive/g" + i);
+            request.setRemoteAddr("10.0.0." + i);
+            filter.doFilter(request, new MockHttpServletResponse(), startAsync());
+        }
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(get("/api/groups/reactive/late"), rejected, startAsync());
+
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(limit.getLimitRejections()).isEqualTo(1);
+    }
+
+    private static FilterChain startAsync() {
+        return (req, res) -> req.startAsync(req, res);
+    }
+
+    private static MockHttpServletRequest get(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setAsyncSupported(true);
+        return request;
+    }
+}
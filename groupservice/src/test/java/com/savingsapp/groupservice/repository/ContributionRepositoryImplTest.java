@@ -0,0 +1,122 @@
+package com.savingsapp.groupservice.repository;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.savingsapp.groupservice.model.Contribution;
+import com.savingsapp.groupservice.model.ContributionCycleTotal;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Ledger inserts skip payments already recorded, and the totals only count a payment whose
+// id is not yet in appliedPayments
+@ExtendWith(MockitoExtension.class)
+class ContributionRepositoryImplTest {
+
+    private static final String GROUP_ID = "65a000000000000000000001";
+    private static final int DUPLICATE_KEY = 11000;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations create;
+
+    @Mock
+    private BulkOperations apply;
+
+    private ContributionRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ContributionRepositoryImpl(mongoTemplate);
+    }
+
+    @Test
+    void insertNewReturnsOnlyThePaymentsThatWereWritten() {
+        List<Contribution> contributions = List.of(contribution("p1", 1), contribution("p2", 1), contribution("p3", 1));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Contribution.class)).thenReturn(create);
+        when(create.execute()).thenThrow(bulkFailure(DUPLICATE_KEY, 1));
+
+        assertThat(repository.insertNew(contributions)).extracting(Contribution::getPaymentId).containsExactly("p1", "p3");
+    }
+
+    @Test
+    void insertNewRethrowsOtherWriteErrors() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Contribution.class)).thenReturn(create);
+        when(create.execute()).thenThrow(bulkFailure(DUPLICATE_KEY, 0, 121, 1));
+
+        assertThatThrownBy(() -> repository.insertNew(List.of(contribution("p1", 1), contribution("p2", 1))))
+                .isInstanceOf(BulkOperationException.class);
+    }
+
+    @Test
+    void addToCycleTotalsCountsEachPaymentOnlyIfItWasNotAppliedBefore() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ContributionCycleTotal.class)).thenReturn(create, apply);
+        // Another batch created the cycle's totals first
+        when(create.execute()).thenThrow(bulkFailure(DUPLICATE_KEY, 0));
+
+        repository.addToCycleTotals(GROUP_ID, List.of(contribution("p1", 1), contribution("p2", 1), contribution("p3", 2)));
+
+        verify(create, times(2)).upsert(any(Query.class), any(Update.class));
+
+        ArgumentCaptor<Query> guards = ArgumentCaptor.forClass(Query.class);
+        verify(apply, times(3)).updateOne(guards.capture(), any(Update.class));
+        Document guard = guards.getAllValues().get(0).getQueryObject();
+        assertThat(guard).containsEntry("id", ContributionCycleTotal.idOf(GROUP_ID, 1));
+        assertThat(guard.get("appliedPayments", Document.class)).containsEntry("$ne", "p1");
+        verify(apply).execute();
+    }
+
+    @Test
+    void addToCycleTotalsDoesNothingForAnEmptyBatch() {
+        repository.addToCycleTotals(GROUP_ID, List.of());
+
+        verify(mongoTemplate, times(0)).bulkOps(any(BulkOperations.BulkMode.class), eq(ContributionCycleTotal.class));
+    }
+
+    private static Contribution contribution(String paymentId, int cycle) {
+        return Contribution.builder()
+                .id(Contribution.idOf(GROUP_ID, paymentId))
+                .groupId(GROUP_ID)
+                .cycle(cycle)
+                .userId("user-" + paymentId)
+                .paymentId(paymentId)
+                .amount(BigDecimal.TEN)
+                .build();
+    }
+
+    // Pairs of (error code, index in the batch)
+    private static BulkOperationException bulkFailure(int... codesAndIndexes) {
+        List<BulkWriteError> errors = new ArrayList<>();
+        for (int i = 0; i < codesAndIndexes.length; i += 2) {
+            errors.add(new BulkWriteError(codesAndIndexes[i], "write error", new BsonDocument(), codesAndIndexes[i + 1]));
+        }
+        return new BulkOperationException("bulk write failed", new MongoBulkWriteException(
+                BulkWriteResult.unacknowledged(), errors, null, new ServerAddress()));
+    }
+}
@@ -0,0 +1,83 @@
+package com.savingsapp.groupservice.repository;
+
+import com.mongodb.client.result.UpdateResult;
+import com.savingsapp.groupservice.model.IdempotencyRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// The insert of the claim decides between instances; a claim left behind by an owner that
+// died is taken over once it is older than the lease
+@ExtendWith(MockitoExtension.class)
+class IdempotencyRecordRepositoryImplTest {
+
+    private static final String ID = "user-1:createGroup:key-1";
+    private static final LocalDateTime STALE_BEFORE = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private IdempotencyRecordRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new IdempotencyRecordRepositoryImpl(mongoTemplate);
+    }
+
+    @Test
+    void claimsANewKey() {
+        assertThat(repository.claimOrGet(ID, "fp", STALE_BEFORE)).isEmpty();
+
+        ArgumentCaptor<IdempotencyRecord> claim = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(mongoTemplate).insert(claim.capture());
+        assertThat(claim.getValue().getState()).isEqualTo(IdempotencyRecord.State.IN_PROGRESS);
+        assertThat(claim.getValue().getFingerprint()).isEqualTo("fp");
+        verify(mongoTemplate, never()).findById(ID, IdempotencyRecord.class);
+    }
+
+    @Test
+    void takesOverAnAbandonedClaim() {
+        when(mongoTemplate.insert(any(IdempotencyRecord.class))).thenThrow(new DuplicateKeyException("duplicate"));
+        when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(IdempotencyRecord.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        assertThat(repository.claimOrGet(ID, "fp", STALE_BEFORE)).isEmpty();
+
+        ArgumentCaptor<Query> abandoned = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).updateFirst(abandoned.capture(), any(UpdateDefinition.class), eq(IdempotencyRecord.class));
+        assertThat(abandoned.getValue().getQueryObject())
+                .containsEntry("id", ID)
+                .containsEntry("state", IdempotencyRecord.State.IN_PROGRESS);
+        assertThat(abandoned.getValue().getQueryObject().get("createdAt", org.bson.Document.class))
+                .containsEntry("$lt", STALE_BEFORE);
+        verify(mongoTemplate, never()).findById(ID, IdempotencyRecord.class);
+    }
+
+    @Test
+    void returnsTheExistingRecordWhileItsOwnerIsAlive() {
+        IdempotencyRecord existing = IdempotencyRecord.builder().id(ID).state(IdempotencyRecord.State.IN_PROGRESS).build();
+        when(mongoTemplate.insert(any(IdempotencyRecord.class))).thenThrow(new DuplicateKeyException("duplicate"));
+        when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(IdempotencyRecord.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+        when(mongoTemplate.findById(ID, IdempotencyRecord.class)).thenReturn(existing);
+
+        assertThat(repository.claimOrGet(ID, "fp", STALE_BEFORE)).isEqualTo(Optional.of(existing));
+    }
+}
@@ -0,0 +1,102 @@
+package com.savingsapp.groupservice.repository;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.savingsapp.groupservice.model.SavingsGroup;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// The scheduler's guarded updates: when the bulk write misses, only the groups carrying
+// this run's marker count as advanced, and the others are released for the next run
+@ExtendWith(MockitoExtension.class)
+class SavingsGroupRepositoryImplTest {
+
+    private static final String LEASE_OWNER = "instance:7";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulk;
+
+    private SavingsGroupRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new SavingsGroupRepositoryImpl(mongoTemplate);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SavingsGroup.class)).thenReturn(bulk);
+    }
+
+    @Test
+    void appliesEveryUpdateWhenTheBulkWriteModifiedThemAll() {
+        when(bulk.execute()).thenReturn(BulkWriteResult.acknowledged(0, 2, 0, 2, List.of(), List.of()));
+
+        Set<String> applied = repository.applyClaimedUpdates(LEASE_OWNER, List.of(claimed("a", 3L), claimed("b", 5L)));
+
+        assertThat(applied).containsExactlyInAnyOrder("a", "b");
+        verify(mongoTemplate, never()).find(any(Query.class), eq(SavingsGroup.class));
+    }
+
+    @Test
+    void doesNotMistakeAConcurrentWriteForTheScheduledOne() {
+        when(bulk.execute()).thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+        // "a" was advanced by this run; "b" missed its guard because closeGroup bumped it from 5 to 6
+        List<SavingsGroup> stored = List.of(
+                SavingsGroup.builder().id("a").version(4L).lastAdvancedBy(LEASE_OWNER).build(),
+                SavingsGroup.builder().id("b").version(6L).leaseOwner(LEASE_OWNER).build());
+        when(mongoTemplate.find(any(Query.class), eq(SavingsGroup.class))).thenAnswer(invocation -> {
+            Document filter = invocation.<Query>getArgument(0).getQueryObject();
+            return stored.stream()
+                    .filter(group -> !filter.containsKey("lastAdvancedBy")
+                            || filter.get("lastAdvancedBy").equals(group.getLastAdvancedBy()))
+                    .toList();
+        });
+
+        Set<String> applied = repository.applyClaimedUpdates(LEASE_OWNER, List.of(claimed("a", 3L), claimed("b", 5L)));
+
+        assertThat(applied).containsExactly("a");
+        ArgumentCaptor<Query> released = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).updateMulti(released.capture(), any(Update.class), eq(SavingsGroup.class));
+        assertThat(released.getValue().getQueryObject().get("id", Document.class))
+                .containsEntry("$in", List.of("b"));
+        assertThat(released.getValue().getQueryObject()).containsEntry("leaseOwner", LEASE_OWNER);
+    }
+
+    @Test
+    void marksEachGuardedUpdateWithTheLeaseOwner() {
+        when(bulk.execute()).thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+
+        repository.applyClaimedUpdates(LEASE_OWNER, List.of(claimed("a", 3L)));
+
+        ArgumentCaptor<Query> guard = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulk).updateOne(guard.capture(), update.capture());
+        assertThat(guard.getValue().getQueryObject())
+                .containsEntry("leaseOwner", LEASE_OWNER)
+                .containsEntry("version", 3L);
+        assertThat(update.getValue().getUpdateObject().get("$set", Document.class))
+                .containsEntry("lastAdvancedBy", LEASE_OWNER);
+    }
+
+    private static ClaimedGroupUpdate claimed(String groupId, Long expectedVersion) {
+        return new ClaimedGroupUpdate(groupId, expectedVersion, new Update().set("currentCycle", 2));
+    }
+}
@@ -0,0 +1,147 @@
+package com.savingsapp.groupservice.service;
+
+import com.savingsapp.groupservice.dto.ContributionBatchRequest;
+import com.savingsapp.groupservice.dto.ContributionBatchResponse;
+import com.savingsapp.groupservice.dto.ContributionEntry;
+import com.savingsapp.groupservice.dto.ContributionResult;
+import com.savingsapp.groupservice.exception.UnauthorizedException;
+import com.savingsapp.groupservice.model.Contribution;
+import com.savingsapp.groupservice.model.GroupMember;
+import com.savingsapp.groupservice.model.SavingsGroup;
+import com.savingsapp.groupservice.repository.ContributionCycleTotalRepository;
+import com.savingsapp.groupservice.repository.ContributionRepository;
+import com.savingsapp.groupservice.repository.SavingsGroupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Each payment reaches the ledger once, and a replayed batch re-applies the stored ledger
+// entries to the totals, which skip the payments they already counted
+@ExtendWith(MockitoExtension.class)
+class ContributionServiceTest {
+
+    private static final String GROUP_ID = "65a000000000000000000001";
+    private static final String ORGANIZER_ID = "organizer";
+
+    @Mock
+    private SavingsGroupRepository savingsGroupRepository;
+
+    @Mock
+    private ContributionRepository contributionRepository;
+
+    @Mock
+    private ContributionCycleTotalRepository contributionCycleTotalRepository;
+
+    @Mock
+    private ExternalMembershipStore externalMembershipStore;
+
+    private ContributionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ContributionService(savingsGroupRepository, contributionRepository,
+                contributionCycleTotalRepository, externalMembershipStore, new GroupMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordsOnlyValidPaymentsAndCountsThemOnce() {
+        when(savingsGroupRepository.findById(GROUP_ID)).thenReturn(Optional.of(activeGroup()));
+        when(contributionRepository.insertNew(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ContributionBatchResponse response = service.recordContributions(GROUP_ID, batch(
+                payment("p1", "a", 1),
+                payment("p1", "a", 1),
+                payment("p2", "stranger", 1),
+                payment("p3", "b", 9),
+                payment("p4", "b", 1)), ORGANIZER_ID);
+
+        assertThat(response.getRecorded()).isEqualTo(2);
+        assertThat(response.getResults()).extracting(ContributionResult::getOutcome).containsExactly(
+                ContributionResult.Outcome.RECORDED,
+                ContributionResult.Outcome.ALREADY_RECORDED,
+                ContributionResult.Outcome.NOT_MEMBER,
+                ContributionResult.Outcome.INVALID_CYCLE,
+                ContributionResult.Outcome.RECORDED);
+
+        ArgumentCaptor<List<Contribution>> applied = ArgumentCaptor.forClass(List.class);
+        verify(contributionRepository).addToCycleTotals(eq(GROUP_ID), applied.capture());
+        assertThat(applied.getValue()).extracting(Contribution::getId)
+                .containsExactly(Contribution.idOf(GROUP_ID, "p1"), Contribution.idOf(GROUP_ID, "p4"));
+        verify(contributionRepository, never()).findAllById(anyList());
+    }
+
+    @Test
+    void replayedBatchReappliesTheStoredLedgerEntries() {
+        Contribution stored = Contribution.builder()
+                .id(Contribution.idOf(GROUP_ID, "p1"))
+                .groupId(GROUP_ID)
+                .cycle(1)
+                .userId("a")
+                .paymentId("p1")
+                .amount(BigDecimal.TEN)
+                .build();
+        when(savingsGroupRepository.findById(GROUP_ID)).thenReturn(Optional.of(activeGroup()));
+        when(contributionRepository.insertNew(anyList())).thenReturn(List.of());
+        when(contributionRepository.findAllById(List.of(Contribution.idOf(GROUP_ID, "p1")))).thenReturn(List.of(stored));
+
+        ContributionBatchResponse response = service.recordContributions(GROUP_ID, batch(payment("p1", "a", 1)), ORGANIZER_ID);
+
+        assertThat(response.getRecorded()).isZero();
+        assertThat(response.getResults()).extracting(ContributionResult::getOutcome)
+                .containsExactly(ContributionResult.Outcome.ALREADY_RECORDED);
+        verify(contributionRepository).addToCycleTotals(GROUP_ID, List.of(stored));
+    }
+
+    @Test
+    void rejectsAnotherUser() {
+        when(savingsGroupRepository.findById(GROUP_ID)).thenReturn(Optional.of(activeGroup()));
+
+        assertThatThrownBy(() -> service.recordContributions(GROUP_ID, batch(payment("p1", "a", 1)), "a"))
+                .isInstanceOf(UnauthorizedException.class);
+        verify(contributionRepository, never()).insertNew(anyList());
+    }
+
+    private static SavingsGroup activeGroup() {
+        return SavingsGroup.builder()
+                .id(GROUP_ID)
+                .organizerId(ORGANIZER_ID)
+                .status(SavingsGroup.GroupStatus.ACTIVE)
+                .maxMembers(3)
+                .totalCycles(3)
+                .currency("USD")
+                .members(List.of(member(ORGANIZER_ID), member("a"), member("b")))
+                .build();
+    }
+
+    private static GroupMember member(String userId) {
+        return GroupMember.builder()
+                .userId(userId)
+                .status(GroupMember.MemberStatus.ACTIVE)
+                .build();
+    }
+
+    private static ContributionBatchRequest batch(ContributionEntry... payments) {
+        return new ContributionBatchRequest(List.of(payments));
+    }
+
+    private static ContributionEntry payment(String paymentId, String userId, int cycle) {
+        return new ContributionEntry(paymentId, userId, cycle, BigDecimal.TEN, null);
+    }
+}
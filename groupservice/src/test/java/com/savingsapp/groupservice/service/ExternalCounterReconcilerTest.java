@@ -0,0 +1,89 @@
+package com.savingsapp.groupservice.service;
+
+import com.savingsapp.groupservice.model.SavingsGroup;
+import com.savingsapp.groupservice.repository.GroupMembershipRepository;
+import com.savingsapp.groupservice.repository.MembershipCounts;
+import com.savingsapp.groupservice.repository.SavingsGroupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// A counter mismatch is only repaired once it has been seen unchanged on two passes in a row
+@ExtendWith(MockitoExtension.class)
+class ExternalCounterReconcilerTest {
+
+    private static final String GROUP_ID = "65a000000000000000000001";
+
+    @Mock
+    private SavingsGroupRepository savingsGroupRepository;
+
+    @Mock
+    private GroupMembershipRepository groupMembershipRepository;
+
+    private ExternalCounterReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        reconciler = new ExternalCounterReconciler(savingsGroupRepository, groupMembershipRepository, new GroupCache(100, 30));
+        ReflectionTestUtils.setField(reconciler, "batchSize", 500);
+    }
+
+    @Test
+    void repairsAMismatchSeenTwiceAtTheSameVersion() {
+        when(savingsGroupRepository.findExternalCountersAfterId(null, 500)).thenReturn(List.of(counters(3L, 5, 1)));
+        when(groupMembershipRepository.countByGroup(List.of(GROUP_ID)))
+                .thenReturn(List.of(new MembershipCounts(GROUP_ID, 4, 1)));
+        when(savingsGroupRepository.setExternalCounters(GROUP_ID, 3L, 4, 1)).thenReturn(true);
+
+        assertThat(reconciler.reconcileAll()).isZero();
+        assertThat(reconciler.reconcileAll()).isEqualTo(1);
+        verify(savingsGroupRepository).setExternalCounters(GROUP_ID, 3L, 4, 1);
+    }
+
+    @Test
+    void leavesAGroupThatChangedBetweenPassesAlone() {
+        when(savingsGroupRepository.findExternalCountersAfterId(null, 500))
+                .thenReturn(List.of(counters(3L, 5, 1)), List.of(counters(4L, 5, 1)));
+        when(groupMembershipRepository.countByGroup(List.of(GROUP_ID)))
+                .thenReturn(List.of(new MembershipCounts(GROUP_ID, 4, 1)));
+
+        reconciler.reconcileAll();
+        reconciler.reconcileAll();
+
+        verify(savingsGroupRepository, never()).setExternalCounters(anyString(), anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void treatsAGroupWithoutMembershipsAsEmpty() {
+        when(savingsGroupRepository.findExternalCountersAfterId(null, 500)).thenReturn(List.of(counters(3L, 1, 0)));
+        when(groupMembershipRepository.countByGroup(List.of(GROUP_ID))).thenReturn(List.of());
+        when(savingsGroupRepository.setExternalCounters(GROUP_ID, 3L, 0, 0)).thenReturn(true);
+
+        reconciler.reconcileAll();
+
+        assertThat(reconciler.reconcileAll()).isEqualTo(1);
+    }
+
+    private static SavingsGroup counters(Long version, int memberCount, int pendingCount) {
+        return SavingsGroup.builder()
+                .id(GROUP_ID)
+                .memberStorage(SavingsGroup.MemberStorage.EXTERNAL)
+                .memberCount(memberCount)
+                .pendingCount(pendingCount)
+                .version(version)
+                .build();
+    }
+}
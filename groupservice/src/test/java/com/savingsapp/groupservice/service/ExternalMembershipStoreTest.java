@@ -0,0 +1,166 @@
+package com.savingsapp.groupservice.service;
+
+import com.savingsapp.groupservice.model.GroupMember;
+import com.savingsapp.groupservice.model.SavingsGroup;
+import com.savingsapp.groupservice.repository.GroupMembershipRepository;
+import com.savingsapp.groupservice.repository.SavingsGroupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Two-step writes of EXTERNAL groups: the counter is reserved first and released again
+// when the membership write does not go through, so a lost race leaves nothing behind
+@ExtendWith(MockitoExtension.class)
+class ExternalMembershipStoreTest {
+
+    private static final String GROUP_ID = "65a000000000000000000001";
+    private static final String ORGANIZER_ID = "organizer";
+
+    @Mock
+    private GroupMembershipRepository groupMembershipRepository;
+
+    @Mock
+    private SavingsGroupRepository savingsGroupRepository;
+
+    private ExternalMembershipStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ExternalMembershipStore(groupMembershipRepository, savingsGroupRepository);
+    }
+
+    @Test
+    void requestJoinRemovesTheMembershipWhenTheCounterIsFull() {
+        when(groupMembershipRepository.insertPending(GROUP_ID, "a")).thenReturn(true);
+        when(savingsGroupRepository.addExternalPending(GROUP_ID)).thenReturn(Optional.empty());
+
+        assertThat(store.requestJoin(GROUP_ID, "a")).isEmpty();
+        verify(groupMembershipRepository).removePending(GROUP_ID, "a");
+    }
+
+    @Test
+    void requestJoinLeavesTheCounterAloneForADuplicateRequest() {
+        when(groupMembershipRepository.insertPending(GROUP_ID, "a")).thenReturn(false);
+
+        assertThat(store.requestJoin(GROUP_ID, "a")).isEmpty();
+        verify(savingsGroupRepository, never()).addExternalPending(anyString());
+    }
+
+    @Test
+    void approveReleasesTheReservedSlotWhenTheUserIsNoLongerPending() {
+        GroupMember member = member("a");
+        when(savingsGroupRepository.reserveExternalMembers(GROUP_ID, ORGANIZER_ID, 1, 1))
+                .thenReturn(Optional.of(externalGroup()));
+        when(groupMembershipRepository.promote(GROUP_ID, member)).thenReturn(false);
+
+        assertThat(store.approve(GROUP_ID, ORGANIZER_ID, member)).isEmpty();
+        verify(savingsGroupRepository).adjustExternalCounters(GROUP_ID, -1, 1);
+    }
+
+    @Test
+    void approveKeepsTheReservationOnceTheMemberIsPromoted() {
+        GroupMember member = member("a");
+        SavingsGroup group = externalGroup();
+        when(savingsGroupRepository.reserveExternalMembers(GROUP_ID, ORGANIZER_ID, 1, 1)).thenReturn(Optional.of(group));
+        when(groupMembershipRepository.promote(GROUP_ID, member)).thenReturn(true);
+
+        assertThat(store.approve(GROUP_ID, ORGANIZER_ID, member)).contains(group);
+        verify(savingsGroupRepository, never()).adjustExternalCounters(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void approveDoesNotTouchMembershipsWhenNoSlotIsLeft() {
+        GroupMember member = member("a");
+        when(savingsGroupRepository.reserveExternalMembers(GROUP_ID, ORGANIZER_ID, 1, 1)).thenReturn(Optional.empty());
+
+        assertThat(store.approve(GROUP_ID, ORGANIZER_ID, member)).isEmpty();
+        verify(groupMembershipRepository, never()).promote(GROUP_ID, member);
+    }
+
+    @Test
+    void rejectRestoresThePendingCountWhenTheRequestWasAlreadyResolved() {
+        when(savingsGroupRepository.reserveExternalMembers(GROUP_ID, ORGANIZER_ID, 0, 1))
+                .thenReturn(Optional.of(externalGroup()));
+        when(groupMembershipRepository.removePending(GROUP_ID, "a")).thenReturn(false);
+
+        assertThat(store.reject(GROUP_ID, ORGANIZER_ID, "a")).isEmpty();
+        verify(savingsGroupRepository).adjustExternalCounters(GROUP_ID, 0, 1);
+    }
+
+    @Test
+    void resolveUndoesTheAppliedPartWhenOneDecisionFails() {
+        GroupMember a = member("a");
+        when(savingsGroupRepository.reserveExternalMembers(GROUP_ID, ORGANIZER_ID, 1, 3))
+                .thenReturn(Optional.of(externalGroup()));
+        when(groupMembershipRepository.promote(GROUP_ID, a)).thenReturn(true);
+        when(groupMembershipRepository.removePending(GROUP_ID, "b")).thenReturn(true);
+        when(groupMembershipRepository.removePending(GROUP_ID, "c")).thenReturn(false);
+
+        assertThat(store.resolve(GROUP_ID, ORGANIZER_ID, List.of("a", "b", "c"), List.of(a))).isEmpty();
+
+        InOrder order = inOrder(groupMembershipRepository, savingsGroupRepository);
+        order.verify(groupMembershipRepository).demote(GROUP_ID, "a");
+        order.verify(groupMembershipRepository).insertPending(GROUP_ID, "b");
+        order.verify(savingsGroupRepository).adjustExternalCounters(GROUP_ID, -1, 3);
+        verify(groupMembershipRepository, never()).insertPending(GROUP_ID, "c");
+    }
+
+    @Test
+    void resolveStopsAtTheFirstFailedPromotion() {
+        GroupMember a = member("a");
+        GroupMember b = member("b");
+        when(savingsGroupRepository.reserveExternalMembers(GROUP_ID, ORGANIZER_ID, 2, 2))
+                .thenReturn(Optional.of(externalGroup()));
+        when(groupMembershipRepository.promote(GROUP_ID, a)).thenReturn(false);
+
+        assertThat(store.resolve(GROUP_ID, ORGANIZER_ID, List.of("a", "b"), List.of(a, b))).isEmpty();
+
+        verify(groupMembershipRepository, never()).promote(GROUP_ID, b);
+        verify(groupMembershipRepository, never()).demote(anyString(), anyString());
+        verify(savingsGroupRepository).adjustExternalCounters(GROUP_ID, -2, 2);
+    }
+
+    @Test
+    void moveToExternalRemembersTheGroupOnlyOnceItMoved() {
+        SavingsGroup group = SavingsGroup.builder()
+                .id(GROUP_ID)
+                .organizerId(ORGANIZER_ID)
+                .members(List.of(member(ORGANIZER_ID)))
+                .pendingMemberIds(List.of())
+                .version(4L)
+                .build();
+        when(savingsGroupRepository.moveToExternalMembers(GROUP_ID, 4L, 1, 0)).thenReturn(Optional.empty());
+
+        assertThat(store.moveToExternal(group)).isFalse();
+        assertThat(store.isKnownExternal(GROUP_ID)).isFalse();
+    }
+
+    private static SavingsGroup externalGroup() {
+        return SavingsGroup.builder()
+                .id(GROUP_ID)
+                .organizerId(ORGANIZER_ID)
+                .memberStorage(SavingsGroup.MemberStorage.EXTERNAL)
+                .build();
+    }
+
+    private static GroupMember member(String userId) {
+        return GroupMember.builder()
+                .userId(userId)
+                .status(GroupMember.MemberStatus.ACTIVE)
+                .build();
+    }
+}
@@ -0,0 +1,189 @@
+package com.savingsapp.groupservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.savingsapp.groupservice.exception.RequestInProgressException;
+import com.savingsapp.groupservice.model.IdempotencyRecord;
+import com.savingsapp.groupservice.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+// A key runs its request once: later duplicates replay the stored response, wait for a
+// request still running here, or get a 409 while another instance holds the claim
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    private static final String KEY = "key-1";
+    private static final String USER_ID = "user-1";
+    private static final String OPERATION = "createGroup";
+    private static final String ID = IdempotencyRecord.idOf(USER_ID, OPERATION, KEY);
+    private static final Map<String, String> REQUEST = Map.of("name", "Group");
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger runs = new AtomicInteger();
+
+    private IdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new IdempotencyService(idempotencyRecordRepository, objectMapper, 100, 600, 5000, 60);
+    }
+
+    @Test
+    void runsRequestsWithoutAKeyDirectly() {
+        ResponseEntity<?> response = service.execute(null, USER_ID, OPERATION, REQUEST, created());
+
+        assertThat(response.getStatusCode().value()).isEqualTo(201);
+        assertThat(runs).hasValue(1);
+        verifyNoInteractions(idempotencyRecordRepository);
+    }
+
+    @Test
+    void replaysTheStoredResponseForARetry() {
+        when(idempotencyRecordRepository.claimOrGet(eq(ID), anyString(), any())).thenReturn(Optional.empty());
+
+        service.execute(KEY, USER_ID, OPERATION, REQUEST, created());
+        ResponseEntity<?> replayed = service.execute(KEY, USER_ID, OPERATION, REQUEST, created());
+
+        assertThat(runs).hasValue(1);
+        assertThat(replayed.getStatusCode().value()).isEqualTo(201);
+        assertThat(replayed.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(replayed.getBody()).isEqualTo("{\"id\":\"group-1\"}");
+        verify(idempotencyRecordRepository).complete(eq(ID), anyString(), eq(201), eq("{\"id\":\"group-1\"}"));
+        verify(idempotencyRecordRepository, times(1)).claimOrGet(anyString(), anyString(), any());
+        assertThat(service.getReplays()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsAKeyReusedForADifferentRequest() {
+        when(idempotencyRecordRepository.claimOrGet(eq(ID), anyString(), any())).thenReturn(Optional.empty());
+        service.execute(KEY, USER_ID, OPERATION, REQUEST, created());
+
+        assertThatThrownBy(() -> service.execute(KEY, USER_ID, OPERATION, Map.of("name", "Other"), created()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void replaysAResponseCompletedOnAnotherInstance() {
+        service.execute(KEY, "someone-else", OPERATION, REQUEST, created());
+        when(idempotencyRecordRepository.claimOrGet(eq(ID), anyString(), any())).thenAnswer(invocation ->
+                Optional.of(IdempotencyRecord.builder()
+                        .id(ID)
+                        .fingerprint(invocation.getArgument(1))
+                        .state(IdempotencyRecord.State.COMPLETED)
+                        .status(201)
+                        .body("{\"id\":\"group-1\"}")
+                        .build()));
+
+        ResponseEntity<?> replayed = service.execute(KEY, USER_ID, OPERATION, REQUEST, created());
+
+        assertThat(runs).hasValue(1);
+        assertThat(replayed.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void reportsAClaimHeldByAnotherInstanceAsInProgress() {
+        when(idempotencyRecordRepository.claimOrGet(eq(ID), anyString(), any())).thenReturn(Optional.of(
+                IdempotencyRecord.builder().id(ID).state(IdempotencyRecord.State.IN_PROGRESS).build()));
+
+        assertThatThrownBy(() -> service.execute(KEY, USER_ID, OPERATION, REQUEST, created()))
+                .isInstanceOf(RequestInProgressException.class);
+        assertThat(runs).hasValue(0);
+    }
+
+    @Test
+    void takesOverClaimsOlderThanTheLease() {
+        when(idempotencyRecordRepository.claimOrGet(eq(ID), anyString(), any())).thenReturn(Optional.empty());
+        LocalDateTime before = LocalDateTime.now();
+
+        service.execute(KEY, USER_ID, OPERATION, REQUEST, created());
+
+        ArgumentCaptor<LocalDateTime> staleBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(idempotencyRecordRepository).claimOrGet(eq(ID), anyString(), staleBefore.capture());
+        assertThat(staleBefore.getValue())
+                .isAfterOrEqualTo(before.minusSeconds(60))
+                .isBeforeOrEqualTo(LocalDateTime.now().minusSeconds(60));
+    }
+
+    @Test
+    void releasesTheClaimOfAFailedRequestSoItCanBeRetried() {
+        when(idempotencyRecordRepository.claimOrGet(eq(ID), anyString(), any())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.execute(KEY, USER_ID, OPERATION, REQUEST, () -> {
+            throw new IllegalStateException("Group is already full");
+        })).isInstanceOf(IllegalStateException.class);
+        verify(idempotencyRecordRepository).release(ID);
+        verify(idempotencyRecordRepository, never()).complete(anyString(), anyString(), any(Integer.class), anyString());
+
+        service.execute(KEY, USER_ID, OPERATION, REQUEST, created());
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void duplicatesOnTheSameInstanceWaitForTheRunningRequest() throws Exception {
+        when(idempotencyRecordRepository.claimOrGet(eq(ID), anyString(), any())).thenReturn(Optional.empty());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Supplier<ResponseEntity<?>> slow = () -> {
+            started.countDown();
+            await(finish);
+            return created().get();
+        };
+
+        CompletableFuture<ResponseEntity<?>> first = CompletableFuture.supplyAsync(
+                () -> service.execute(KEY, USER_ID, OPERATION, REQUEST, slow));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<ResponseEntity<?>> duplicate = CompletableFuture.supplyAsync(
+                () -> service.execute(KEY, USER_ID, OPERATION, REQUEST, created()));
+        finish.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getStatusCode().value()).isEqualTo(201);
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER))
+                .isEqualTo("true");
+        assertThat(runs).hasValue(1);
+        verify(idempotencyRecordRepository, times(1)).claimOrGet(anyString(), anyString(), any());
+    }
+
+    private Supplier<ResponseEntity<?>> created() {
+        return () -> {
+            runs.incrementAndGet();
+            return ResponseEntity.status(201).body(Map.of("id", "group-1"));
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.savingsapp.groupservice.service;
+
+import com.savingsapp.groupservice.audit.AuditLog;
+import com.savingsapp.groupservice.dto.BatchJoinDecisionResponse;
+import com.savingsapp.groupservice.dto.GroupResponse;
+import com.savingsapp.groupservice.dto.JoinDecision;
+import com.savingsapp.groupservice.dto.JoinDecisionResult;
+import com.savingsapp.groupservice.dto.UpdateGroupRequest;
+import com.savingsapp.groupservice.exception.UnauthorizedException;
+import com.savingsapp.groupservice.model.GroupMember;
+import com.savingsapp.groupservice.model.SavingsGroup;
+import com.savingsapp.groupservice.repository.GroupMembershipRepository;
+import com.savingsapp.groupservice.repository.SavingsGroupRepository;
+import com.savingsapp.groupservice.repository.UserGroupIndexRepository;
+import com.savingsapp.groupservice.service.events.GroupEventBus;
+import com.savingsapp.groupservice.service.rotation.JoinOrderPayoutStrategy;
+import com.savingsapp.groupservice.service.rotation.PayoutRotationEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// The guarded writes: one conditional update on the happy path, and a re-read only to report
+// which rule failed or to retry a valid operation that lost a race. Batch join decisions are
+// planned against one read and land in a single conditional update.
+@ExtendWith(MockitoExtension.class)
+class SavingsGroupServiceTest {
+
+    private static final String GROUP_ID = "65a000000000000000000001";
+    private static final String ORGANIZER_ID = "organizer";
+    private static final String USER_ID = "user-1";
+
+    @Mock
+    private SavingsGroupRepository savingsGroupRepository;
+
+    @Mock
+    private GroupMembershipRepository groupMembershipRepository;
+
+    @Mock
+    private UserGroupIndexRepository userGroupIndexRepository;
+
+    @Mock
+    private GroupEventBus groupEventBus;
+
+    @Mock
+    private AuditLog auditLog;
+
+    private SavingsGroupService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new SavingsGroupService(
+                savingsGroupRepository,
+                new GroupCache(100, 30),
+                new PayoutRotationEngine(List.of(new JoinOrderPayoutStrategy())),
+                new GroupMetrics(new SimpleMeterRegistry()),
+                groupEventBus,
+                auditLog,
+                new ExternalMembershipStore(groupMembershipRepository, savingsGroupRepository),
+                userGroupIndexRepository);
+    }
+
+    @Test
+    void joinGroupAppliesTheGuardedUpdateWithoutReadingTheGroup() {
+        SavingsGroup joined = openGroup(3, 1);
+        joined.getPendingMemberIds().add(USER_ID);
+        when(savingsGroupRepository.addPendingMember(GROUP_ID, USER_ID)).thenReturn(Optional.of(joined));
+
+        GroupResponse response = service.joinGroup(GROUP_ID, USER_ID, "User");
+
+        assertThat(response.getPendingMemberIds()).containsExactly(USER_ID);
+        verify(savingsGroupRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void joinGroupReportsAFullGroupWhenTheGuardFails() {
+        when(savingsGroupRepository.addPendingMember(GROUP_ID, USER_ID)).thenReturn(Optional.empty());
+        when(savingsGroupRepository.findById(GROUP_ID)).thenReturn(Optional.of(openGroup(2, 2)));
+
+        assertThatThrownBy(() -> service.joinGroup(GROUP_ID, USER_ID, "User"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Group is already full");
+    }
+
+    @Test
+    void joinGroupReportsAnExistingMemberWhenTheGuardFails() {
+        SavingsGroup group = openGroup(3, 1);
+        group.getMembers().add(member(USER_ID));
+        when(savingsGroupRepository.addPendingMember(GROUP_ID, USER_ID)).thenReturn(Optional.empty());
+        when(savingsGroupRepository.findById(GROUP_ID)).thenReturn(Optional.of(group));
+
+        assertThatThrownBy(() -> service.joinGroup(GROUP_ID, USER_ID, "User"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("User is already a member of this group");
+    }
+
+    @Test
+    void joinGroupConflictsWhenAValidJoinKeepsLosingTheRace() {
+        when(savingsGroupRepository.addPendingMember(GROUP_ID, USER_ID)).thenReturn(Optional.empty());
+        when(savingsGroupRepository.findById(GROUP_ID)).thenReturn(Optional.of(openGroup(3, 1)));
+
+        assertThatThrownBy(() -> service.joinGroup(GROUP_ID, USER_ID, "User"))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        verify(savingsGroupRepository, times(3)).addPendingMember(GROUP_ID, USER_ID);
+    }
+
+    @Test
+    void updateGroupRejectsAnotherUser() {
+        when(savingsGroupRepository.updateDetails(eq(GROUP_ID), eq(USER_ID), any(Update.class))).thenReturn(Optional.empty());
+        when(savingsGroupRepository.findById(GROUP_ID)).thenReturn(Optional.of(openGroup(3, 1)));
+
+        assertThatThrownBy(() -> service.updateGroup(GROUP_ID, nameChange(), USER_ID))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+
+    @Test
+    void updateGroupRejectsAnActiveGroup() {
+        SavingsGroup group = openGroup(3, 1);
+        group.setStatus(SavingsGroup.GroupStatus.ACTIVE);
+        when(savingsGroupRepository.updateDetails(eq(GROUP_ID), eq(ORGANIZER_ID), any(Update.class))).thenReturn(Optional.empty());
+        when(savingsGroupRepository.findById(GROUP_ID)).thenReturn(Optional.of(group));
+
+        assertThatThrownBy(() -> service.updateGroup(GROUP_ID, nameChange(), ORGANIZER_ID))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Cannot update an active or completed group");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void respondToJoinRequestsAppliesDecisionsInOrderUntilTheSlotsRunOut() {
+        SavingsGroup group = openGroup(3, 1);
+        group.getPendingMemberIds().addAll(List.of("a", "b", "c", "d"));
+        when(savingsGroupRepository.findById(GROUP_ID)).thenReturn(Optional.of(group));
+        when(savingsGroupRepository.resolvePendingMembers(eq(GROUP_ID), eq(ORGANIZER_ID), anyList(), anyList()))
+                .thenReturn(Optional.of(openGroup(3, 3)));
+
+        BatchJoinDecisionResponse response = service.respondToJoinRequests(GROUP_ID, List.of(
+                new JoinDecision("a", true),
+                new JoinDecision("b", false),
+                new JoinDecision("a", true),
+                new JoinDecision("stranger", true),
+                new JoinDecision("c", true),
+                new JoinDecision("d", true)), ORGANIZER_ID);
+
+        assertThat(response.getResults()).extracting(JoinDecisionResult::getOutcome).containsExactly(
+                JoinDecisionResult.Outcome.APPROVED,
+                JoinDecisionResult.Outcome.REJECTED,
+                JoinDecisionResult.Outcome.DUPLICATE,
+                JoinDecisionResult.Outcome.NOT_PENDING,
+                JoinDecisionResult.Outcome.APPROVED,
+                JoinDecisionResult.Outcome.GROUP_FULL);
+
+        ArgumentCaptor<List<String>> resolved = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<GroupMember>> approved = ArgumentCaptor.forClass(List.class);
+        verify(savingsGroupRepository).resolvePendingMembers(eq(GROUP_ID), eq(ORGANIZER_ID),
+                resolved.capture(), approved.capture());
+        assertThat(resolved.getValue()).containsExactly("a", "b", "c");
+        assertThat(approved.getValue()).extracting(GroupMember::getUserId).containsExactly("a", "c");
+    }
+
+    @Test
+    void respondToJoinRequestsSkipsTheWriteWhenNothingIsResolved() {
+        when(savingsGroupRepository.findById(GROUP_ID)).thenReturn(Optional.of(openGroup(3, 1)));
+
+        BatchJoinDecisionResponse response = service.respondToJoinRequests(GROUP_ID,
+                List.of(new JoinDecision("stranger", true)), ORGANIZER_ID);
+
+        assertThat(response.getResults()).extracting(JoinDecisionResult::getOutcome)
+                .containsExactly(JoinDecisionResult.Outcome.NOT_PENDING);
+        verify(savingsGroupRepository, never()).resolvePendingMembers(anyString(), anyString(), anyList(), anyList());
+    }
+
+    @Test
+    void respondToJoinRequestsReplansAgainstTheFreshGroupAfterLosingARace() {
+        SavingsGroup pending = openGroup(3, 1);
+        pending.getPendingMemberIds().add("a");
+        SavingsGroup resolvedElsewhere = openGroup(3, 2);
+        when(savingsGroupRepository.findById(GROUP_ID)).thenReturn(Optional.of(pending), Optional.of(resolvedElsewhere));
+        when(savingsGroupRepository.resolvePendingMembers(eq(GROUP_ID), eq(ORGANIZER_ID), anyList(), anyList()))
+                .thenReturn(Optional.empty());
+
+        BatchJoinDecisionResponse response = service.respondToJoinRequests(GROUP_ID,
+                List.of(new JoinDecision("a", true)), ORGANIZER_ID);
+
+        assertThat(response.getResults()).extracting(JoinDecisionResult::getOutcome)
+                .containsExactly(JoinDecisionResult.Outcome.NOT_PENDING);
+        verify(savingsGroupRepository, times(1)).resolvePendingMembers(anyString(), anyString(), anyList(), anyList());
+    }
+
+    @Test
+    void respondToJoinRequestsRejectsAnotherUser() {
+        when(savingsGroupRepository.findById(GROUP_ID)).thenReturn(Optional.of(openGroup(3, 1)));
+
+        assertThatThrownBy(() -> service.respondToJoinRequests(GROUP_ID,
+                List.of(new JoinDecision("a", true)), USER_ID))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+
+    private static UpdateGroupRequest nameChange() {
+        UpdateGroupRequest request = new UpdateGroupRequest();
+        request.setName("Renamed group");
+        return request;
+    }
+
+    private static SavingsGroup openGroup(int maxMembers, int memberCount) {
+        List<GroupMember> members = new ArrayList<>();
+        members.add(member(ORGANIZER_ID));
+        for (int i = 1; i < memberCount; i++) {
+            members.add(member("member-" + i));
+        }
+        return SavingsGroup.builder()
+                .id(GROUP_ID)
+                .name("Group")
+                .organizerId(ORGANIZER_ID)
+                .maxMembers(maxMembers)
+                .totalCycles(maxMembers)
+                .cycleDurationInMonths(1)
+                .members(members)
+                .pendingMemberIds(new ArrayList<>())
+                .version(1L)
+                .build();
+    }
+
+    private static GroupMember member(String userId) {
+        return GroupMember.builder()
+                .userId(userId)
+                .status(GroupMember.MemberStatus.ACTIVE)
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.savingsapp.groupservice.service.events;
+
+import com.savingsapp.groupservice.model.SavingsGroup;
+import com.savingsapp.groupservice.service.ExternalMembershipStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// The audience of an EXTERNAL group is resolved against the users connected to this
+// instance, never by loading the group's whole membership list
+@ExtendWith(MockitoExtension.class)
+class GroupEventBusTest {
+
+    private static final String GROUP_ID = "65a000000000000000000001";
+
+    @Mock
+    private ExternalMembershipStore externalMembershipStore;
+
+    private GroupEventBus eventBus;
+
+    @BeforeEach
+    void setUp() {
+        eventBus = new GroupEventBus(8, 60_000, 100, 1, 3600, externalMembershipStore);
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventBus.shutdown();
+    }
+
+    @Test
+    void looksUpOnlyConnectedUsersWhoAreNotAlreadyAddressed() {
+        eventBus.subscribeToUser("organizer");
+        eventBus.subscribeToUser("applicant");
+        eventBus.subscribeToUser("member");
+        eventBus.subscribeToUser("stranger");
+        when(externalMembershipStore.findParticipants(GROUP_ID, Set.of("member", "stranger"))).thenReturn(Set.of("member"));
+
+        eventBus.publish(event("applicant"), externalGroup(), null);
+
+        verify(externalMembershipStore).findParticipants(GROUP_ID, Set.of("member", "stranger"));
+    }
+
+    @Test
+    void skipsTheLookupWithoutUserSubscribers() {
+        eventBus.subscribeToGroup(GROUP_ID);
+
+        eventBus.publish(event("applicant"), externalGroup(), null);
+
+        verify(externalMembershipStore, never()).findParticipants(anyString(), any());
+    }
+
+    private static SavingsGroup externalGroup() {
+        return SavingsGroup.builder()
+                .id(GROUP_ID)
+                .organizerId("organizer")
+                .memberStorage(SavingsGroup.MemberStorage.EXTERNAL)
+                .version(2L)
+                .build();
+    }
+
+    private static GroupEvent event(String userId) {
+        return GroupEvent.of(GroupEvent.Type.JOIN_REQUESTED, externalGroup(), userId, userId);
+    }
+}
@@ -0,0 +1,147 @@
+package com.savingsapp.groupservice.service.rotation;
+
+import com.savingsapp.groupservice.model.GroupMember;
+import com.savingsapp.groupservice.model.SavingsGroup;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PayoutRotationEngineTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    private final PayoutRotationEngine engine = new PayoutRotationEngine(List.of(
+            new JoinOrderPayoutStrategy(), new PriorityPayoutStrategy(), new SeededShufflePayoutStrategy()));
+
+    @Test
+    void joinOrderPaysMembersInTheOrderTheyJoined() {
+        assertThat(new JoinOrderPayoutStrategy().schedule(members("a", "b", "c"), 0))
+                .containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void priorityPaysHigherPrioritiesFirstAndKeepsJoinOrderForTies() {
+        List<GroupMember> members = members("a", "b", "c", "d");
+        members.get(1).setPriority(5);
+        members.get(3).setPriority(5);
+
+        assertThat(new PriorityPayoutStrategy().schedule(members, 0))
+                .containsExactly("b", "d", "a", "c");
+    }
+
+    @Test
+    void seededShuffleReplaysTheSameOrderForTheSameSeed() {
+        List<GroupMember> members = members("a", "b", "c", "d", "e", "f", "g", "h");
+        SeededShufflePayoutStrategy strategy = new SeededShufflePayoutStrategy();
+
+        List<String> schedule = strategy.schedule(members, 42L);
+
+        assertThat(strategy.schedule(members, 42L)).isEqualTo(schedule);
+        assertThat(schedule).containsExactlyInAnyOrder("a", "b", "c", "d", "e", "f", "g", "h");
+    }
+
+    @Test
+    void activateDrawsTheScheduleOnceFromTheStoredSeed() {
+        SavingsGroup group = group(members("a", "b", "c", "d"));
+        group.setRotationStrategy(SavingsGroup.RotationStrategy.SEEDED_SHUFFLE);
+        group.setRotationSeed(7L);
+        Update update = new Update();
+
+        engine.activate(group, update);
+
+        assertThat(group.getPayoutSchedule())
+                .isEqualTo(new SeededShufflePayoutStrategy().schedule(members("a", "b", "c", "d"), 7L));
+        assertThat(group.getPayoutPosition()).isZero();
+        assertThat(update.getUpdateObject().get("$set", org.bson.Document.class))
+                .containsEntry("rotationSeed", 7L)
+                .containsEntry("payoutPosition", 0);
+    }
+
+    @Test
+    void advancePaysTheNextScheduledMemberAndSchedulesTheFollowingCycle() {
+        SavingsGroup group = activeGroup(members("a", "b", "c"));
+        Update update = new Update();
+
+        engine.advance(group, update);
+
+        assertThat(group.getCurrentRecipientId()).isEqualTo("a");
+        assertThat(group.getCurrentCycle()).isEqualTo(1);
+        assertThat(group.getPayoutPosition()).isEqualTo(1);
+        assertThat(group.getMember("a").hasReceivedInCurrentCycle(1)).isTrue();
+        assertThat(group.getNextCycleAt()).isEqualTo(START.plusMonths(1));
+    }
+
+    @Test
+    void advanceSkipsMembersDeactivatedAfterTheScheduleWasDrawn() {
+        List<GroupMember> members = members("a", "b", "c");
+        members.get(0).setStatus(GroupMember.MemberStatus.INACTIVE);
+        SavingsGroup group = activeGroup(members);
+
+        engine.advance(group, new Update());
+
+        assertThat(group.getCurrentRecipientId()).isEqualTo("b");
+        assertThat(group.getPayoutPosition()).isEqualTo(2);
+    }
+
+    @Test
+    void advanceCompletesTheGroupAfterTheLastCycle() {
+        SavingsGroup group = activeGroup(members("a", "b"));
+        group.setTotalCycles(1);
+        group.setPayoutPosition(2);
+
+        engine.advance(group, new Update());
+
+        assertThat(group.getStatus()).isEqualTo(SavingsGroup.GroupStatus.COMPLETED);
+        assertThat(group.getNextCycleAt()).isNull();
+    }
+
+    @Test
+    void scheduleFromPositionRebuildsLegacySchedulesFromCyclesReceived() {
+        List<GroupMember> members = members("a", "b", "c");
+        members.get(0).markReceived(1);
+        SavingsGroup group = activeGroup(members);
+        group.setPayoutSchedule(new ArrayList<>());
+        group.setCurrentCycle(1);
+
+        engine.scheduleFromPosition(group, new Update());
+
+        assertThat(group.getPayoutSchedule()).containsExactly("a", "b", "c");
+        assertThat(group.getPayoutPosition()).isEqualTo(1);
+        assertThat(group.getNextCycleAt()).isEqualTo(START.plusMonths(1));
+    }
+
+    private static SavingsGroup activeGroup(List<GroupMember> members) {
+        SavingsGroup group = group(members);
+        group.setStatus(SavingsGroup.GroupStatus.ACTIVE);
+        group.setStartDate(START);
+        group.setPayoutSchedule(members.stream().map(GroupMember::getUserId).toList());
+        return group;
+    }
+
+    private static SavingsGroup group(List<GroupMember> members) {
+        return SavingsGroup.builder()
+                .id("group")
+                .organizerId(members.get(0).getUserId())
+                .maxMembers(members.size())
+                .totalCycles(1)
+                .cycleDurationInMonths(1)
+                .members(members)
+                .build();
+    }
+
+    private static List<GroupMember> members(String... userIds) {
+        List<GroupMember> members = new ArrayList<>();
+        for (String userId : userIds) {
+            members.add(GroupMember.builder()
+                    .userId(userId)
+                    .status(GroupMember.MemberStatus.ACTIVE)
+                    .build());
+        }
+        return members;
+    }
+}